@@ -0,0 +1,129 @@
+package application.management.task.benchmark;
+
+import application.management.task.model.Application;
+import application.management.task.model.CountMode;
+import application.management.task.model.CursorPage;
+import application.management.task.model.History;
+import application.management.task.model.State;
+import application.management.task.service.ApplicationService;
+import application.management.task.service.HistoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApplicationServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int HISTORY_ENTRIES = 50;
+
+    @Param({"10000"})
+    private int applications;
+
+    @Param({"caffeine", "none"})
+    private String cacheType;
+
+    private BenchmarkContext context;
+    private ApplicationService applicationService;
+    private HistoryService historyService;
+    private BigInteger historyApplicationId;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new BenchmarkContext("spring.cache.type=" + cacheType);
+        applicationService = context.getBean(ApplicationService.class);
+        historyService = context.getBean(HistoryService.class);
+        MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+
+        List<Application> seed = new ArrayList<>(applications);
+        for (int i = 0; i < applications; i++) {
+            seed.add(Application.builder().state(State.values()[i % State.values().length]).name("name-" + i % 100).content("content-" + i).build());
+        }
+        mongoTemplate.insert(seed, Application.class);
+
+        historyApplicationId = seed.get(0).getId();
+        List<History> histories = new ArrayList<>(HISTORY_ENTRIES);
+        for (int i = 0; i < HISTORY_ENTRIES; i++) {
+            histories.add(History.builder().date(LocalDate.now()).oldState(State.CREATED).applicationId(historyApplicationId).build());
+        }
+        mongoTemplate.insert(histories, History.class);
+
+        String cursor = "";
+        for (int page = 0; page < applications / PAGE_SIZE / 2; page++) {
+            cursor = applicationService.getCursorPage(cursor, PAGE_SIZE, null, null, CountMode.NONE).getNext();
+        }
+        deepCursor = cursor;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Application addApplication() {
+        return applicationService.addApplication(Application.builder().name("name").content("content").build());
+    }
+
+    @Benchmark
+    public Application changeApplicationState() {
+        Application application = applicationService.addApplication(Application.builder().name("name").content("content").build());
+        applicationService.verifyApplication(application.getId());
+        applicationService.acceptApplication(application.getId());
+        return applicationService.publishApplication(application.getId());
+    }
+
+    @Benchmark
+    public Page<Application> getAllPages() {
+        return applicationService.getAllPages(PageRequest.of(0, PAGE_SIZE), null, null);
+    }
+
+    @Benchmark
+    public Page<Application> getAllPagesFiltered() {
+        return applicationService.getAllPages(PageRequest.of(0, PAGE_SIZE), "name-7", State.CREATED);
+    }
+
+    @Benchmark
+    public Page<Application> getAllPagesDeep() {
+        return applicationService.getAllPages(PageRequest.of(applications / PAGE_SIZE / 2, PAGE_SIZE), null, null);
+    }
+
+    @Benchmark
+    public CursorPage<Application> getCursorPageDeep() {
+        return applicationService.getCursorPage(deepCursor, PAGE_SIZE, null, null, CountMode.NONE);
+    }
+
+    @Benchmark
+    public Application getApplicationById() {
+        return applicationService.getApplicationById(historyApplicationId);
+    }
+
+    @Benchmark
+    public List<History> getHistoryOfApplication() {
+        return historyService.getHistoryOfApplication(historyApplicationId);
+    }
+}
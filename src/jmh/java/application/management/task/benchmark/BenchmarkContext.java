@@ -0,0 +1,49 @@
+package application.management.task.benchmark;
+
+import application.management.task.TaskApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BenchmarkContext implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    public BenchmarkContext(String... properties) {
+        this(WebApplicationType.NONE, properties);
+    }
+
+    /**
+     * Properties are passed as command-line arguments because {@link SpringApplicationBuilder#properties} only sets
+     * defaults, which {@code application.properties} overrides, and the benchmarks would quietly run against the
+     * configured MongoDB instead.
+     */
+    public BenchmarkContext(WebApplicationType webApplicationType, String... properties) {
+        List<String> arguments = new ArrayList<>(List.of("--applications.storage=MEMORY", "--logging.level.root=WARN"));
+        Arrays.stream(properties).map(property -> "--" + property).forEach(arguments::add);
+        context = new SpringApplicationBuilder(TaskApplication.class)
+                .web(webApplicationType)
+                .run(arguments.toArray(new String[0]));
+        if (!context.getEnvironment().containsProperty("local.mongo.port")) {
+            context.close();
+            throw new IllegalStateException("Benchmarks must run against the embedded storage.");
+        }
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int getLocalPort() {
+        return Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
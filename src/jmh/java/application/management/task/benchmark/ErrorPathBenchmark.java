@@ -0,0 +1,81 @@
+package application.management.task.benchmark;
+
+import application.management.task.error.ApiError;
+import application.management.task.error.ApplicationNotFoundException;
+import application.management.task.error.ExceptionHandlerAdvice;
+import application.management.task.model.ErrorMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former not-found error path (stack trace, {@code String.format}, a counter lookup and a log line per
+ * error) with the current one. Logging is left out of the former path, so the difference is a lower bound.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"20", "120"})
+    private int stackDepth;
+
+    private final BigInteger id = new BigInteger("61f2a8d3c4b5a69788796a5b", 16);
+    private MeterRegistry meterRegistry;
+    private ExceptionHandlerAdvice exceptionHandlerAdvice;
+
+    @Setup
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        exceptionHandlerAdvice = new ExceptionHandlerAdvice(meterRegistry, 10);
+    }
+
+    @Benchmark
+    public void formerErrorPath(Blackhole blackhole) {
+        try {
+            throwAt(stackDepth, true);
+        } catch (RuntimeException exception) {
+            ApiError apiError = new ApiError(LocalDateTime.now(), HttpStatus.NOT_FOUND, exception.getMessage());
+            blackhole.consume(apiError.toString());
+            meterRegistry.counter("applications.errors", "exception", exception.getClass().getSimpleName(), "status", String.valueOf(apiError.getStatus().value())).increment();
+            blackhole.consume(apiError);
+        }
+    }
+
+    @Benchmark
+    public void currentErrorPath(Blackhole blackhole) {
+        try {
+            throwAt(stackDepth, false);
+        } catch (ApplicationNotFoundException exception) {
+            blackhole.consume(exceptionHandlerAdvice.handleEntityNotFoundException(exception));
+        }
+    }
+
+    private void throwAt(int depth, boolean former) {
+        if (depth > 0) {
+            throwAt(depth - 1, former);
+        } else if (former) {
+            throw new IllegalStateException(String.format(ErrorMessage.ENTITY_NOT_EXIST.message, id));
+        } else {
+            throw new ApplicationNotFoundException(ErrorMessage.ENTITY_NOT_EXIST.format(id));
+        }
+    }
+}
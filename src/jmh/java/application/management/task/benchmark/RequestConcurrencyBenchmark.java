@@ -0,0 +1,78 @@
+package application.management.task.benchmark;
+
+import application.management.task.model.Application;
+import application.management.task.service.ApplicationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestConcurrencyBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+
+    @Param({"platform", "virtual-threads"})
+    private String threads;
+
+    @Param({"50"})
+    private int tomcatMaxThreads;
+
+    private BenchmarkContext context;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new BenchmarkContext(WebApplicationType.SERVLET,
+                "server.port=0",
+                "server.tomcat.threads.max=" + tomcatMaxThreads,
+                "spring.cache.type=none",
+                "spring.profiles.active=" + ("virtual-threads".equals(threads) ? "virtual-threads" : "default"));
+        Application application = context.getBean(ApplicationService.class)
+                .addApplication(Application.builder().name("name").content("content").build());
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + context.getLocalPort() + "/" + application.getId())).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public List<HttpResponse<Void>> getApplicationConcurrently() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        List<HttpResponse<Void>> completed = new ArrayList<>(CONCURRENT_REQUESTS);
+        responses.forEach(response -> completed.add(response.join()));
+        return completed;
+    }
+}
@@ -0,0 +1,110 @@
+package application.management.task.benchmark;
+
+import application.management.task.model.Application;
+import application.management.task.model.History;
+import application.management.task.model.State;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String SIZE_LOG = "%s page of %d applications: %d bytes, %d bytes gzipped%n";
+
+    @Param({"json", "blackbird", "smile", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private Application application;
+    private History history;
+    private Page<Application> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = objectMapper(format);
+        application = Application.builder().id(new BigInteger("61f2a8d3c4b5a69788796a5b", 16)).state(State.CREATED).name("name").content("content ".repeat(64)).build();
+        history = History.builder().id(new BigInteger("61f2a8d3c4b5a69788796a5c", 16)).date(LocalDate.now()).oldState(State.VERIFIED).applicationId(application.getId()).resignReason("reason").build();
+        List<Application> content = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            content.add(application.toBuilder().id(application.getId().add(BigInteger.valueOf(i))).name("name " + i)
+                    .content(UUID.randomUUID() + " " + application.getContent()).build());
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, PAGE_SIZE), 1000);
+        try {
+            System.out.printf(SIZE_LOG, format, PAGE_SIZE, serializePage().length, serializePageGzipped().length);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static ObjectMapper objectMapper(String format) {
+        switch (format) {
+            case "blackbird":
+                return Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+            case "smile":
+                return Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).modulesToInstall(new BlackbirdModule()).build();
+            case "cbor":
+                return Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).modulesToInstall(new BlackbirdModule()).build();
+            default:
+                return Jackson2ObjectMapperBuilder.json().build();
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeApplication() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(application);
+    }
+
+    @Benchmark
+    public byte[] serializeHistory() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(history);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializePageGzipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, page);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,12 @@
+package application.management.task.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String APPLICATIONS = "applications";
+    public static final String HISTORIES = "histories";
+}
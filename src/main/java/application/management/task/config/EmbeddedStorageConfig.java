@@ -0,0 +1,48 @@
+package application.management.task.config;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.mongo.MongoClientDependsOnBeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.data.mongo.ReactiveStreamsMongoClientDependsOnBeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+/**
+ * Runs the Mongo wire protocol in-process when {@code applications.storage=MEMORY}, so tests and benchmarks need no
+ * external database. The clients are pointed at it through {@code local.mongo.port}, the same hook Spring Boot uses for
+ * embedded Mongo. The server is a provided dependency and is not packaged, so deployments cannot enable this mode.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "applications.storage", havingValue = "MEMORY")
+public class EmbeddedStorageConfig {
+
+    private static final String EMBEDDED_PORT = "local.mongo.port";
+    private static final String STARTED_LOG = "Embedded storage listening on %s.";
+
+    @Bean(destroyMethod = "shutdown")
+    public MongoServer embeddedMongoServer(ConfigurableEnvironment environment) {
+        MongoServer mongoServer = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongoServer.bind();
+        environment.getPropertySources().addFirst(new MapPropertySource("embeddedStorage", Map.of(EMBEDDED_PORT, address.getPort())));
+        log.info(String.format(STARTED_LOG, address));
+        return mongoServer;
+    }
+
+    @Bean
+    public static MongoClientDependsOnBeanFactoryPostProcessor mongoClientDependsOnEmbeddedStorage() {
+        return new MongoClientDependsOnBeanFactoryPostProcessor(MongoServer.class);
+    }
+
+    @Bean
+    public static ReactiveStreamsMongoClientDependsOnBeanFactoryPostProcessor reactiveMongoClientDependsOnEmbeddedStorage() {
+        return new ReactiveStreamsMongoClientDependsOnBeanFactoryPostProcessor(MongoServer.class);
+    }
+}
@@ -0,0 +1,6 @@
+package application.management.task.config;
+
+public enum EventSource {
+
+    BUS, CHANGE_STREAM
+}
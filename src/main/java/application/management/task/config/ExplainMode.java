@@ -0,0 +1,6 @@
+package application.management.task.config;
+
+public enum ExplainMode {
+
+    OFF, WARN, FAIL
+}
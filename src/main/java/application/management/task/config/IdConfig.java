@@ -0,0 +1,118 @@
+package application.management.task.config;
+
+import application.management.task.model.Identifiable;
+import application.management.task.service.IdGenerator;
+import application.management.task.service.ObjectIdGenerator;
+import application.management.task.service.SequenceIdGenerator;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Set;
+
+@Configuration
+public class IdConfig {
+
+    private static final String STRATEGY = "applications.id.strategy";
+
+    /**
+     * Only the sequence strategy stores ids as numbers. The other strategies keep the default mapping, so ids written
+     * before an upgrade stay reachable.
+     */
+    @Bean
+    @ConditionalOnProperty(name = STRATEGY, havingValue = "sequence")
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(new BigIntegerToInt64Converter()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STRATEGY, havingValue = "objectid", matchIfMissing = true)
+    public IdGenerator objectIdGenerator() {
+        return new ObjectIdGenerator();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STRATEGY, havingValue = "sequence")
+    public IdGenerator sequenceIdGenerator(MongoTemplate mongoTemplate, @Value("${applications.id.block-size:1000}") long blockSize) {
+        return new SequenceIdGenerator(mongoTemplate, blockSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STRATEGY, havingValue = "sequence")
+    public SequenceIdCallback sequenceIdCallback(ObjectProvider<IdGenerator> idGenerator) {
+        return new SequenceIdCallback(idGenerator);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STRATEGY, havingValue = "sequence")
+    public ReactiveSequenceIdCallback reactiveSequenceIdCallback(ObjectProvider<IdGenerator> idGenerator) {
+        return new ReactiveSequenceIdCallback(idGenerator);
+    }
+
+    /**
+     * Stores ids that fit a long as int64, so sequence ids sort and compare numerically. Ids that are ObjectIds are
+     * still written as ObjectIds, and larger values elsewhere keep their decimal string form.
+     */
+    @WritingConverter
+    static class BigIntegerToInt64Converter implements GenericConverter {
+
+        @Override
+        public Set<ConvertiblePair> getConvertibleTypes() {
+            return Set.of(new ConvertiblePair(BigInteger.class, Long.class));
+        }
+
+        @Override
+        public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+            BigInteger value = (BigInteger) source;
+            return value.bitLength() < Long.SIZE ? (Object) value.longValue() : value.toString();
+        }
+    }
+
+    static class SequenceIdCallback implements BeforeConvertCallback<Identifiable> {
+
+        private final ObjectProvider<IdGenerator> idGenerator;
+
+        SequenceIdCallback(ObjectProvider<IdGenerator> idGenerator) {
+            this.idGenerator = idGenerator;
+        }
+
+        @Override
+        public Identifiable onBeforeConvert(Identifiable entity, String collection) {
+            if (entity.getId() == null) {
+                entity.setId(idGenerator.getObject().nextId(entity.getClass()));
+            }
+            return entity;
+        }
+    }
+
+    static class ReactiveSequenceIdCallback implements ReactiveBeforeConvertCallback<Identifiable> {
+
+        private final SequenceIdCallback delegate;
+
+        ReactiveSequenceIdCallback(ObjectProvider<IdGenerator> idGenerator) {
+            this.delegate = new SequenceIdCallback(idGenerator);
+        }
+
+        @Override
+        public Publisher<Identifiable> onBeforeConvert(Identifiable entity, String collection) {
+            if (entity.getId() != null) {
+                return Mono.just(entity);
+            }
+            return Mono.fromCallable(() -> delegate.onBeforeConvert(entity, collection)).subscribeOn(Schedulers.boundedElastic());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package application.management.task.config;
+
+import application.management.task.model.Application;
+import application.management.task.model.History;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+public class MongoIndexInitializer {
+
+    private static final String INDEX_LOG = "Index ensured on %s: %s";
+    private static final String BACKFILL_LOG = "Search names backfilled for %d applications.";
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    public static final List<IndexDefinition> APPLICATION_INDEXES = List.of(
+            new Index().on("state", Sort.Direction.ASC).on("name", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("state_name_id"),
+            new Index().on("name", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("name_id"),
+            new Index().on("state", Sort.Direction.ASC).on("stateChangedAt", Sort.Direction.ASC).named("state_stateChangedAt"),
+            new Index().on("searchName", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("searchName_id"),
+            new TextIndexDefinition.TextIndexDefinitionBuilder().onField("name", 2F).onField("content").named("name_content_text").build()
+    );
+
+    public static final List<IndexDefinition> HISTORY_INDEXES = List.of(
+            new Index().on("applicationId", Sort.Direction.ASC).named("applicationId"),
+            new Index().on("date", Sort.Direction.ASC).named("date")
+    );
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    public void createIndexes() {
+        ensureIndexes(Application.class, APPLICATION_INDEXES);
+        ensureIndexes(History.class, HISTORY_INDEXES);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSearchNames() {
+        Query query = Query.query(Criteria.where("searchName").exists(false).and("name").exists(true));
+        query.fields().include("name");
+        long backfilled = 0;
+        List<Application> batch = new ArrayList<>();
+        try (CloseableIterator<Application> applications = mongoTemplate.stream(query, Application.class)) {
+            while (applications.hasNext()) {
+                batch.add(applications.next());
+                if (batch.size() == BACKFILL_BATCH_SIZE || !applications.hasNext()) {
+                    BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+                    batch.forEach(application -> bulkOperations.updateOne(Query.query(Criteria.where("_id").is(application.getId())),
+                            Update.update("searchName", SearchConfig.withSearchName(application).getSearchName())));
+                    bulkOperations.execute();
+                    backfilled += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        log.info(String.format(BACKFILL_LOG, backfilled));
+    }
+
+    private void ensureIndexes(Class<?> entityClass, List<IndexDefinition> indexes) {
+        for (IndexDefinition index : indexes) {
+            String name = mongoTemplate.indexOps(entityClass).ensureIndex(index);
+            log.info(String.format(INDEX_LOG, mongoTemplate.getCollectionName(entityClass), name));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package application.management.task.config;
+
+import application.management.task.model.Application;
+import org.reactivestreams.Publisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+@Configuration
+public class SearchConfig {
+
+    @Bean
+    public static SearchNameCallback searchNameCallback() {
+        return new SearchNameCallback();
+    }
+
+    @Bean
+    public static ReactiveSearchNameCallback reactiveSearchNameCallback() {
+        return new ReactiveSearchNameCallback();
+    }
+
+    public static String searchName(String name) {
+        return name != null ? name.toLowerCase(Locale.ROOT) : null;
+    }
+
+    static Application withSearchName(Application application) {
+        application.setSearchName(searchName(application.getName()));
+        return application;
+    }
+
+    static class SearchNameCallback implements BeforeConvertCallback<Application> {
+
+        @Override
+        public Application onBeforeConvert(Application application, String collection) {
+            return withSearchName(application);
+        }
+    }
+
+    static class ReactiveSearchNameCallback implements ReactiveBeforeConvertCallback<Application> {
+
+        @Override
+        public Publisher<Application> onBeforeConvert(Application application, String collection) {
+            return Mono.just(withSearchName(application));
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package application.management.task.error;
 
-public class ApplicationNotFoundException extends RuntimeException {
+public class ApplicationNotFoundException extends DomainException {
     public ApplicationNotFoundException(String message) {
         super(message);
     }
@@ -0,0 +1,12 @@
+package application.management.task.error;
+
+/**
+ * Base of the exceptions thrown for expected request outcomes. They are always translated into an {@link ApiError}
+ * and their stack trace is never logged, so it is not captured.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
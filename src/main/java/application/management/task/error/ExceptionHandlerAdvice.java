@@ -1,42 +1,125 @@
 package application.management.task.error;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @ControllerAdvice
 public class ExceptionHandlerAdvice {
 
+    private static final String ERROR_METRIC = "applications.errors";
+    private static final String SUPPRESSED_LOG = "Suppressed %d %s errors over the log rate.";
+
+    private final Map<Class<?>, ErrorStats> errorStats = new ConcurrentHashMap<>();
+    private MeterRegistry meterRegistry;
+    private int logRate;
+
+    @Autowired
+    public ExceptionHandlerAdvice(MeterRegistry meterRegistry, @Value("${applications.errors.log-rate:10}") int logRate) {
+        this.meterRegistry = meterRegistry;
+        this.logRate = logRate;
+    }
+
     @ExceptionHandler(WrongStateException.class)
     public ResponseEntity<Object> handleWrongStateException(WrongStateException exception){
-        ApiError apiError = new ApiError(LocalDateTime.now(), HttpStatus.NOT_ACCEPTABLE, exception.getMessage());
-        log.error(apiError.toString());
-        return new ResponseEntity<>(apiError, apiError.getStatus());
+        return respond(exception, HttpStatus.NOT_ACCEPTABLE);
     }
 
     @ExceptionHandler(ApplicationNotFoundException.class)
     public ResponseEntity<Object> handleEntityNotFoundException(ApplicationNotFoundException exception){
-        ApiError apiError = new ApiError(LocalDateTime.now(), HttpStatus.NOT_FOUND, exception.getMessage());
-        log.error(apiError.toString());
-        return new ResponseEntity<>(apiError, apiError.getStatus());
+        return respond(exception, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(NoParameterException.class)
     public ResponseEntity<Object> handleNoParameterException(NoParameterException exception){
-        ApiError apiError = new ApiError(LocalDateTime.now(), HttpStatus.BAD_REQUEST, exception.getMessage());
-        log.error(apiError.toString());
-        return new ResponseEntity<>(apiError, apiError.getStatus());
+        return respond(exception, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(NoReasonException.class)
     public ResponseEntity<Object> handleNoReasonException(NoReasonException exception){
-        ApiError apiError = new ApiError(LocalDateTime.now(), HttpStatus.NOT_ACCEPTABLE, exception.getMessage());
-        log.error(apiError.toString());
-        return new ResponseEntity<>(apiError, apiError.getStatus());
+        return respond(exception, HttpStatus.NOT_ACCEPTABLE);
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<Object> handleVersionConflictException(VersionConflictException exception){
+        return respond(exception, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidFieldException.class)
+    public ResponseEntity<Object> handleInvalidFieldException(InvalidFieldException exception){
+        return respond(exception, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException exception){
+        return respond(exception, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(HistoryBacklogException.class)
+    public ResponseEntity<Object> handleHistoryBacklogException(HistoryBacklogException exception){
+        return respond(exception, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private ResponseEntity<Object> respond(DomainException exception, HttpStatus status){
+        ApiError apiError = new ApiError(LocalDateTime.now(), status, exception.getMessage());
+        ErrorStats stats = errorStats.computeIfAbsent(exception.getClass(), type -> new ErrorStats(meterRegistry.counter(ERROR_METRIC,
+                "exception", type.getSimpleName(), "status", String.valueOf(status.value()))));
+        stats.counter.increment();
+        long suppressed = stats.tryLog(System.nanoTime(), logRate);
+        if (suppressed >= 0) {
+            if (suppressed > 0) {
+                log.error(String.format(SUPPRESSED_LOG, suppressed, exception.getClass().getSimpleName()));
+            }
+            log.error(apiError.toString());
+        }
+        return new ResponseEntity<>(apiError, status);
+    }
+
+    private static class ErrorStats {
+
+        private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+        private final Counter counter;
+        private long windowStart;
+        private int logged;
+        private long suppressed;
+
+        private ErrorStats(Counter counter) {
+            this.counter = counter;
+            this.windowStart = System.nanoTime();
+        }
+
+        /**
+         * Returns -1 if the error must not be logged, otherwise the number of errors suppressed since the last logged one.
+         */
+        private synchronized long tryLog(long now, int logRate) {
+            if (logRate <= 0) {
+                return 0;
+            }
+            if (now - windowStart >= WINDOW) {
+                windowStart = now;
+                logged = 0;
+            }
+            if (logged >= logRate) {
+                suppressed++;
+                return -1;
+            }
+            logged++;
+            long previouslySuppressed = suppressed;
+            suppressed = 0;
+            return previouslySuppressed;
+        }
     }
 }
@@ -0,0 +1,8 @@
+package application.management.task.error;
+
+public class HistoryBacklogException extends DomainException {
+
+    public HistoryBacklogException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package application.management.task.error;
+
+public class InvalidCursorException extends DomainException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package application.management.task.error;
+
+public class InvalidFieldException extends DomainException {
+
+    public InvalidFieldException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,6 @@
 package application.management.task.error;
 
-public class NoParameterException extends RuntimeException {
+public class NoParameterException extends DomainException {
     public NoParameterException(String message) {
         super(message);
     }
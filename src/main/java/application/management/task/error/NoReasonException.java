@@ -1,6 +1,6 @@
 package application.management.task.error;
 
-public class NoReasonException extends RuntimeException {
+public class NoReasonException extends DomainException {
 
     public NoReasonException(String message) {
         super(message);
@@ -0,0 +1,8 @@
+package application.management.task.error;
+
+public class VersionConflictException extends DomainException {
+
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
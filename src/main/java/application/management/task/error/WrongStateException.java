@@ -1,6 +1,6 @@
 package application.management.task.error;
 
-public class WrongStateException extends RuntimeException {
+public class WrongStateException extends DomainException {
 
     public WrongStateException(String message) {
         super(message);
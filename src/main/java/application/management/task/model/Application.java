@@ -1,21 +1,27 @@
 package application.management.task.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.List;
 
 @Document
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
-public class Application {
+@Builder(toBuilder = true)
+public class Application implements Identifiable {
 
     @Id
     @GeneratedValue
@@ -23,5 +29,11 @@ public class Application {
     private State state;
     private String name;
     private String content;
+    @JsonIgnore
+    private String searchName;
+    private LocalDate stateChangedAt;
+    private List<History> recentHistory;
+    @Version
+    private Long version;
 
 }
@@ -0,0 +1,21 @@
+package application.management.task.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ApplicationStatistics {
+
+    private List<StateCount> states;
+    private List<DailyTransitions> transitionsPerDay;
+    private List<ReasonCount> resignReasons;
+    private List<StateDuration> averageTimeInState;
+
+}
@@ -0,0 +1,28 @@
+package application.management.task.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+
+@Document
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedApplication {
+
+    @Id
+    private BigInteger id;
+    private State state;
+    private String name;
+    private String content;
+    private String resignReason;
+    private LocalDate archivedAt;
+
+}
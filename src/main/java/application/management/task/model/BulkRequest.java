@@ -0,0 +1,20 @@
+package application.management.task.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigInteger;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRequest {
+
+    private List<BigInteger> ids;
+    private String resignReason;
+
+}
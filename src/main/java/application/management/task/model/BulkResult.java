@@ -0,0 +1,25 @@
+package application.management.task.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkResult {
+
+    @Builder.Default
+    private List<BigInteger> changed = new ArrayList<>();
+    @Builder.Default
+    private List<BigInteger> notFound = new ArrayList<>();
+    @Builder.Default
+    private List<BigInteger> wrongState = new ArrayList<>();
+
+}
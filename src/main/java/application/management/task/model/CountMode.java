@@ -0,0 +1,6 @@
+package application.management.task.model;
+
+public enum CountMode {
+
+    NONE, ESTIMATED, EXACT
+}
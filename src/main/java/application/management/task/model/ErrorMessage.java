@@ -4,11 +4,35 @@ public enum ErrorMessage {
     ENTITY_NOT_EXIST("Object with id=[%s] does not exist."),
     WRONG_STATE("Object needs to be in state: %s."),
     NO_PARAMETER("To add application provide name and content."),
-    NO_REASON("To delete or reject application provide the reason.");
+    NO_REASON("To delete or reject application provide the reason."),
+    NO_IDS("To change applications provide their ids."),
+    INVALID_CURSOR("Cursor [%s] is not valid."),
+    INVALID_ROW("Row could not be parsed: %s"),
+    DUPLICATE_ID("Object with id=[%s] already exists."),
+    NO_SEARCH("To search applications provide name or text."),
+    INVALID_FIELD("Field [%s] does not exist."),
+    VERSION_CONFLICT("Object with id=[%s] is not in version %s."),
+    HISTORY_BACKLOG("History writer is behind, try again later.");
+
+    private static final String PLACEHOLDER = "%s";
 
     public String message;
+    private final String[] parts;
 
     ErrorMessage(String message) {
         this.message = message;
+        this.parts = message.split(PLACEHOLDER, -1);
+    }
+
+    /**
+     * Same result as {@code String.format(message, args)} for these {@code %s}-only templates, without parsing the
+     * template on every call.
+     */
+    public String format(Object... args) {
+        StringBuilder builder = new StringBuilder(message.length() + 16 * args.length).append(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            builder.append(args[i - 1]).append(parts[i]);
+        }
+        return builder.toString();
     }
 }
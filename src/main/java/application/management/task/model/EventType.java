@@ -0,0 +1,5 @@
+package application.management.task.model;
+
+public enum EventType {
+    CREATED, CHANGED, REMOVED
+}
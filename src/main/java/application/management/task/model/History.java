@@ -1,5 +1,6 @@
 package application.management.task.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,11 +13,12 @@ import java.math.BigInteger;
 import java.time.LocalDate;
 
 @Document
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class History {
+public class History implements Identifiable {
 
     @Id
     @GeneratedValue
@@ -0,0 +1,27 @@
+package application.management.task.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryMarker {
+
+    private long count;
+    private LocalDate first;
+    private LocalDate last;
+
+    public static HistoryMarker of(Collection<History> histories) {
+        return new HistoryMarker(histories.size(),
+                histories.stream().map(History::getDate).filter(Objects::nonNull).min(Comparator.naturalOrder()).orElse(null),
+                histories.stream().map(History::getDate).filter(Objects::nonNull).max(Comparator.naturalOrder()).orElse(null));
+    }
+
+}
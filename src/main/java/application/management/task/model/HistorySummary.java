@@ -0,0 +1,31 @@
+package application.management.task.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Document
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HistorySummary {
+
+    @Id
+    private BigInteger applicationId;
+    private long transitions;
+    private LocalDate firstDate;
+    private LocalDate lastDate;
+    @Builder.Default
+    private List<State> states = new ArrayList<>();
+    private String resignReason;
+
+}
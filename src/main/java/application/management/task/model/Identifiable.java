@@ -0,0 +1,10 @@
+package application.management.task.model;
+
+import java.math.BigInteger;
+
+public interface Identifiable {
+
+    BigInteger getId();
+
+    void setId(BigInteger id);
+}
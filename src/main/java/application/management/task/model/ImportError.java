@@ -0,0 +1,15 @@
+package application.management.task.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportError {
+
+    private long row;
+    private String message;
+
+}
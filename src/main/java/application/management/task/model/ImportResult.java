@@ -0,0 +1,21 @@
+package application.management.task.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportResult {
+
+    private long imported;
+    @Builder.Default
+    private List<ImportError> errors = new ArrayList<>();
+
+}
@@ -0,0 +1,24 @@
+package application.management.task.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StateChangeEvent {
+
+    private long sequence;
+    private EventType type;
+    private BigInteger applicationId;
+    private State previousState;
+    private State state;
+    private LocalDateTime time;
+
+}
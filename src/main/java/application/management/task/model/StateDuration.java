@@ -0,0 +1,18 @@
+package application.management.task.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StateDuration {
+
+    private State state;
+    private double averageDays;
+    private long samples;
+
+}
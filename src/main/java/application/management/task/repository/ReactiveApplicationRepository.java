@@ -0,0 +1,11 @@
+package application.management.task.repository;
+
+import application.management.task.model.Application;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigInteger;
+
+@Repository
+public interface ReactiveApplicationRepository extends ReactiveMongoRepository<Application, BigInteger> {
+}
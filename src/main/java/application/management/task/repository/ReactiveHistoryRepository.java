@@ -0,0 +1,14 @@
+package application.management.task.repository;
+
+import application.management.task.model.History;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigInteger;
+
+@Repository
+public interface ReactiveHistoryRepository extends ReactiveMongoRepository<History, BigInteger> {
+
+    Flux<History> findAllByApplicationId(BigInteger id);
+}
@@ -0,0 +1,216 @@
+package application.management.task.service;
+
+import application.management.task.model.Application;
+import application.management.task.model.ErrorMessage;
+import application.management.task.model.EventType;
+import application.management.task.model.ImportError;
+import application.management.task.model.ImportResult;
+import application.management.task.model.State;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.ErrorCategory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Service
+public class ApplicationImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "content");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StateCounterService stateCounterService;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private StateChangePublisher stateChangePublisher;
+
+    @Value("${applications.import.batch-size:1000}")
+    private int batchSize;
+
+    public ImportResult importNdjson(InputStream input) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(Application.class);
+        return importRows(input, new RowParser() {
+            @Override
+            Application parse(String line) throws JsonProcessingException {
+                return reader.readValue(line);
+            }
+        });
+    }
+
+    public ImportResult importCsv(InputStream input) throws IOException {
+        return importRows(input, new RowParser() {
+            private List<String> columns = CSV_COLUMNS;
+
+            @Override
+            boolean isHeader(String line) {
+                List<String> header = splitCsv(line);
+                header.replaceAll(column -> column.trim().toLowerCase(Locale.ROOT));
+                if (!header.contains("name") || !header.contains("content")) {
+                    return false;
+                }
+                columns = header;
+                return true;
+            }
+
+            @Override
+            Application parse(String line) {
+                List<String> values = splitCsv(line);
+                if (values.size() != columns.size()) {
+                    throw new IllegalArgumentException(String.format("expected %d columns, found %d", columns.size(), values.size()));
+                }
+                Application application = new Application();
+                for (int i = 0; i < columns.size(); i++) {
+                    String value = values.get(i);
+                    switch (columns.get(i)) {
+                        case "id":
+                            application.setId(value.isBlank() ? null : new BigInteger(value.trim()));
+                            break;
+                        case "name":
+                            application.setName(value);
+                            break;
+                        case "content":
+                            application.setContent(value);
+                            break;
+                        default:
+                    }
+                }
+                return application;
+            }
+        });
+    }
+
+    private ImportResult importRows(InputStream input, RowParser parser) throws IOException {
+        ImportResult result = new ImportResult();
+        List<Application> batch = new ArrayList<>(batchSize);
+        List<Long> rows = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long row = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank() || (row == 1 && parser.isHeader(line))) {
+                    continue;
+                }
+                Application application;
+                try {
+                    application = parser.parse(line);
+                } catch (JsonProcessingException exception) {
+                    result.getErrors().add(new ImportError(row, ErrorMessage.INVALID_ROW.format(exception.getOriginalMessage())));
+                    continue;
+                } catch (IllegalArgumentException exception) {
+                    result.getErrors().add(new ImportError(row, ErrorMessage.INVALID_ROW.format(exception.getMessage())));
+                    continue;
+                }
+                if (application == null || !ApplicationService.hasNameAndContent(application)) {
+                    result.getErrors().add(new ImportError(row, ErrorMessage.NO_PARAMETER.message));
+                    continue;
+                }
+                if (application.getId() == null) {
+                    application.setId(idGenerator.nextId(Application.class));
+                }
+                application.setState(State.CREATED);
+                application.setStateChangedAt(LocalDate.now());
+                batch.add(application);
+                rows.add(row);
+                if (batch.size() == batchSize) {
+                    insert(batch, rows, result);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(batch, rows, result);
+        }
+        return result;
+    }
+
+    private void insert(List<Application> batch, List<Long> rows, ImportResult result) {
+        Set<Integer> failed = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class).insert(batch).execute();
+        } catch (BulkOperationException exception) {
+            exception.getErrors().forEach(error -> {
+                failed.add(error.getIndex());
+                result.getErrors().add(new ImportError(rows.get(error.getIndex()),
+                        ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY
+                                ? ErrorMessage.DUPLICATE_ID.format(batch.get(error.getIndex()).getId())
+                                : error.getMessage()));
+            });
+        }
+        int inserted = batch.size() - failed.size();
+        result.setImported(result.getImported() + inserted);
+        stateCounterService.increment(State.CREATED, inserted);
+        for (int index = 0; index < batch.size(); index++) {
+            if (!failed.contains(index)) {
+                stateChangePublisher.publish(EventType.CREATED, batch.get(index).getId(), null, State.CREATED);
+            }
+        }
+        batch.clear();
+        rows.clear();
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private abstract static class RowParser {
+
+        boolean isHeader(String line) {
+            return false;
+        }
+
+        abstract Application parse(String line) throws JsonProcessingException;
+    }
+}
@@ -0,0 +1,134 @@
+package application.management.task.service;
+
+import application.management.task.config.SearchConfig;
+import application.management.task.error.InvalidCursorException;
+import application.management.task.model.Application;
+import application.management.task.model.CursorPage;
+import application.management.task.model.ErrorMessage;
+import application.management.task.model.State;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+final class ApplicationQueries {
+
+    /**
+     * Tokens of the bulk operations that changed a document. Bulk writes only report counts, so the token is what
+     * tells a batch which documents it changed itself. An application passes through at most four bulk operations,
+     * so the array is never trimmed.
+     */
+    static final String BATCHES = "batches";
+
+    static final int OBJECT_ID_TYPE = 7;
+
+    private ApplicationQueries() {
+    }
+
+    static Query batchQuery(String token) {
+        return Query.query(Criteria.where(BATCHES).is(token));
+    }
+
+    static Query stateQuery(BigInteger id, Collection<State> states) {
+        return Query.query(Criteria.where("_id").is(id).and("state").in(states));
+    }
+
+    static Query updateQuery(BigInteger id, Long version) {
+        Query query = stateQuery(id, Arrays.asList(State.CREATED, State.VERIFIED));
+        if (version != null)
+            query.addCriteria(version == 0 ? Criteria.where("version").in(0L, null) : Criteria.where("version").is(version));
+        return query;
+    }
+
+    static Update contentUpdate(Application application) {
+        Update update = new Update().inc("version", 1);
+        if (application.getContent() != null)
+            update.set("content", application.getContent());
+        if (application.getName() != null)
+            update.set("name", application.getName()).set("searchName", SearchConfig.searchName(application.getName()));
+        return update;
+    }
+
+    static Query searchQuery(String name, String text) {
+        Query query = text != null && !text.isBlank()
+                ? TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text)).sortByScore()
+                : new Query().with(Sort.by(Sort.Direction.ASC, "searchName", "_id"));
+        if (name != null && !name.isBlank())
+            query.addCriteria(Criteria.where("searchName").regex("^" + name.toLowerCase(Locale.ROOT).replaceAll("\\W", "\\\\$0")));
+        return query;
+    }
+
+    static Query filterQuery(String name, State state) {
+        return withCriteria(new Query(), filterCriteria(name, state));
+    }
+
+    static Query cursorQuery(String cursor, int size, String name, State state) {
+        final List<Criteria> criteria = filterCriteria(name, state);
+        if (cursor != null && !cursor.isBlank())
+            criteria.add(afterCriteria(decodeCursor(cursor)));
+        return withCriteria(new Query().with(Sort.by(Sort.Direction.ASC, "_id")).limit(size + 1), criteria);
+    }
+
+    static CursorPage<Application> cursorPage(List<Application> applications, int size, Long total) {
+        String next = null;
+        if (applications.size() > size) {
+            applications = applications.subList(0, size);
+            next = encodeCursor(applications.get(size - 1).getId());
+        }
+        return CursorPage.<Application>builder()
+                .content(applications)
+                .next(next)
+                .total(total)
+                .build();
+    }
+
+    /**
+     * Sequence ids are stored as int64 and sort before ObjectIds, but a range on a number never matches an ObjectId.
+     * After a numeric cursor, legacy ObjectId documents that were not migrated are still ahead.
+     */
+    private static Criteria afterCriteria(BigInteger id) {
+        if (id.bitLength() >= Long.SIZE)
+            return Criteria.where("_id").gt(id);
+        return new Criteria().orOperator(Criteria.where("_id").gt(id), Criteria.where("_id").type(OBJECT_ID_TYPE));
+    }
+
+    private static List<Criteria> filterCriteria(String name, State state) {
+        final List<Criteria> criteria = new ArrayList<>();
+
+        if (name != null && !name.isBlank())
+            criteria.add(Criteria.where("name").is(name));
+        if (state != null)
+            criteria.add(Criteria.where("state").is(state));
+        return criteria;
+    }
+
+    private static Query withCriteria(Query query, List<Criteria> criteria) {
+        if (!criteria.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+        }
+        return query;
+    }
+
+    static String encodeCursor(BigInteger id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BigInteger decodeCursor(String cursor) {
+        try {
+            return new BigInteger(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException(ErrorMessage.INVALID_CURSOR.format(cursor));
+        }
+    }
+}
@@ -1,32 +1,63 @@
 package application.management.task.service;
 
+import application.management.task.config.CacheConfig;
 import application.management.task.error.ApplicationNotFoundException;
 import application.management.task.error.NoParameterException;
 import application.management.task.error.NoReasonException;
+import application.management.task.error.VersionConflictException;
 import application.management.task.error.WrongStateException;
 import application.management.task.model.Application;
+import application.management.task.model.BulkRequest;
+import application.management.task.model.BulkResult;
+import application.management.task.model.CountMode;
+import application.management.task.model.CursorPage;
 import application.management.task.model.ErrorMessage;
+import application.management.task.model.EventType;
 import application.management.task.model.History;
 import application.management.task.model.State;
 import application.management.task.repository.ApplicationRepository;
+import io.micrometer.core.annotation.Timed;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.stereotype.Service;
 
 import java.math.BigInteger;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ApplicationService {
 
+    private static final String TRANSITION_METRIC = "applications.transition";
+
     @Autowired
     private ApplicationRepository applicationRepository;
 
@@ -36,107 +67,421 @@ public class ApplicationService {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private StateCounterService stateCounterService;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private StateChangePublisher stateChangePublisher;
+
+    @Autowired
+    private ObjectProvider<IdMigrationService> idMigrationService;
+
+    @Value("${applications.history.recent-size:0}")
+    private int recentHistorySize;
+
     public List<Application> getAllApplications() {
-        return applicationRepository.findAll();
+        return getAllApplications(null);
+    }
+
+    public List<Application> getAllApplications(Collection<String> fields) {
+        return mongoTemplate.find(FieldProjection.apply(new Query(), Application.class, fields), Application.class);
     }
 
+    public CloseableIterator<Application> streamAllApplications() {
+        return streamAllApplications(null);
+    }
+
+    public CloseableIterator<Application> streamAllApplications(Collection<String> fields) {
+        return mongoTemplate.stream(FieldProjection.apply(new Query(), Application.class, fields), Application.class);
+    }
+
+    @Cacheable(value = CacheConfig.APPLICATIONS, key = "#id", unless = "!#result.id.equals(#id)")
     public Application getApplicationById(BigInteger id) {
-        return applicationRepository.findById(id).orElseThrow(() -> new ApplicationNotFoundException(String.format(ErrorMessage.ENTITY_NOT_EXIST.message, id)));
+        Application application = findApplication(id);
+        if (application == null) {
+            BigInteger migratedId = migratedId(id);
+            application = migratedId != null ? findApplication(migratedId) : null;
+        }
+        if (application == null) {
+            throw new ApplicationNotFoundException(ErrorMessage.ENTITY_NOT_EXIST.format(id));
+        }
+        return application;
+    }
+
+    private Application findApplication(BigInteger id) {
+        return mongoTemplate.findOne(FieldProjection.apply(Query.query(Criteria.where("_id").is(id)), Application.class, null), Application.class);
+    }
+
+    /**
+     * Applications whose ObjectId was rewritten to a sequence id stay readable under the old id.
+     */
+    private BigInteger migratedId(BigInteger id) {
+        IdMigrationService migration = idMigrationService.getIfAvailable();
+        return migration != null ? migration.migratedId(id) : null;
+    }
+
+    public long getApplicationVersion(BigInteger id) {
+        Cache cache = cacheManager.getCache(CacheConfig.APPLICATIONS);
+        Application application = cache != null ? cache.get(id, Application.class) : null;
+        if (application == null) {
+            application = findVersion(id);
+            if (application == null) {
+                BigInteger migratedId = migratedId(id);
+                application = migratedId != null ? findVersion(migratedId) : null;
+            }
+            if (application == null) {
+                throw new ApplicationNotFoundException(ErrorMessage.ENTITY_NOT_EXIST.format(id));
+            }
+        }
+        return application.getVersion() != null ? application.getVersion() : 0L;
     }
 
+    private Application findVersion(BigInteger id) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        query.fields().include("version");
+        return mongoTemplate.findOne(query, Application.class);
+    }
+
+    public Application getApplicationWithHistory(BigInteger id) {
+        Application application = applicationRepository.findById(id).orElseThrow(() -> new ApplicationNotFoundException(ErrorMessage.ENTITY_NOT_EXIST.format(id)));
+        if (recentHistorySize > 0) {
+            return application.getRecentHistory() != null ? application : application.toBuilder().recentHistory(Collections.emptyList()).build();
+        }
+        return application.toBuilder().recentHistory(historyService.getHistoryOfApplication(id)).build();
+    }
+
+    @CachePut(value = CacheConfig.APPLICATIONS, key = "#result.id")
     public Application addApplication(Application application) {
-        application.setState(State.CREATED);
-        if ((application.getName() != null && !application.getName().isBlank()) && (application.getContent() != null && !application.getContent().isBlank())){
-            return applicationRepository.save(application);
+        asCreated(application);
+        if (hasNameAndContent(application)){
+            Application savedApplication = applicationRepository.save(application);
+            stateCounterService.increment(State.CREATED, 1);
+            stateChangePublisher.publish(EventType.CREATED, savedApplication.getId(), null, State.CREATED);
+            return savedApplication;
         } else {
             throw new NoParameterException(ErrorMessage.NO_PARAMETER.message);
         }
     }
 
+    /**
+     * Resets the fields the server manages, so a document that was read back from the API is created rather than
+     * taken for a versioned update.
+     */
+    static void asCreated(Application application) {
+        application.setState(State.CREATED);
+        application.setStateChangedAt(LocalDate.now());
+        application.setVersion(null);
+        application.setRecentHistory(null);
+    }
+
+    static boolean hasNameAndContent(Application application) {
+        return (application.getName() != null && !application.getName().isBlank()) && (application.getContent() != null && !application.getContent().isBlank());
+    }
+
+    @CachePut(value = CacheConfig.APPLICATIONS, key = "#id")
+    @Timed(value = TRANSITION_METRIC, extraTags = {"transition", "verify", "mode", "single"}, histogram = true)
     public Application verifyApplication(BigInteger id) {
         return changeApplicationState(id, State.CREATED, State.VERIFIED);
     }
 
+    @CachePut(value = CacheConfig.APPLICATIONS, key = "#id")
+    @Timed(value = TRANSITION_METRIC, extraTags = {"transition", "accept", "mode", "single"}, histogram = true)
     public Application acceptApplication(BigInteger id) {
         return changeApplicationState(id, State.VERIFIED, State.ACCEPTED);
     }
 
+    @CachePut(value = CacheConfig.APPLICATIONS, key = "#id")
+    @Timed(value = TRANSITION_METRIC, extraTags = {"transition", "publish", "mode", "single"}, histogram = true)
     public Application publishApplication(BigInteger id) {
         return changeApplicationState(id, State.ACCEPTED, State.PUBLISHED);
     }
 
     private Application changeApplicationState(BigInteger id, State currentState, State expectedState) {
-        Application application = applicationRepository.findById(id).orElseThrow(() -> new ApplicationNotFoundException(String.format(ErrorMessage.ENTITY_NOT_EXIST.message, id)));
-        if (application.getState().equals(currentState)) {
-            History history = History.builder().date(LocalDate.now()).oldState(currentState).applicationId(application.getId()).build();
-            historyService.addHistory(history);
-            application.setState(expectedState);
-            applicationRepository.save(application);
-            return application;
-        } else {
-            throw new WrongStateException(String.format(ErrorMessage.WRONG_STATE.message, currentState));
+        Query query = FieldProjection.apply(ApplicationQueries.stateQuery(id, Collections.singletonList(currentState)), Application.class, null);
+        History history = History.builder().date(LocalDate.now()).oldState(currentState).applicationId(id).build();
+        Application application = mongoTemplate.findAndModify(query, stateUpdate(expectedState, history), FindAndModifyOptions.options().returnNew(true), Application.class);
+        if (application == null) {
+            throw transitionFailure(id, ErrorMessage.WRONG_STATE.format(currentState));
+        }
+        historyService.addHistory(history);
+        stateCounterService.transition(currentState, expectedState, 1);
+        stateChangePublisher.publish(EventType.CHANGED, id, currentState, expectedState);
+        return application;
+    }
+
+    private Update stateUpdate(State expectedState, History history) {
+        Update update = Update.update("state", expectedState).set("stateChangedAt", LocalDate.now()).inc("version", 1);
+        if (recentHistorySize > 0) {
+            history.setId(idGenerator.nextId(History.class));
+            update.push("recentHistory").slice(-recentHistorySize).each(history);
         }
+        return update;
     }
 
+    @CacheEvict(value = CacheConfig.APPLICATIONS, key = "#id")
+    @Timed(value = TRANSITION_METRIC, extraTags = {"transition", "delete", "mode", "single"}, histogram = true)
     public Application deleteApplication(BigInteger id, History historyReason) {
-        Application application = applicationRepository.findById(id).orElseThrow(() -> new ApplicationNotFoundException(String.format(ErrorMessage.ENTITY_NOT_EXIST.message, id)));
-        if (application.getState().equals(State.CREATED)) {
-            if (historyReason.getResignReason() != null && !historyReason.getResignReason().isBlank()){
-                History history = History.builder().date(LocalDate.now()).oldState(State.DELETED).applicationId(application.getId()).resignReason(historyReason.getResignReason()).build();
-                historyService.addHistory(history);
-                applicationRepository.delete(application);
-                return application;
-            } else {
-                throw new NoReasonException(ErrorMessage.NO_REASON.message);
+        return removeApplication(id, historyReason, Collections.singletonList(State.CREATED), State.DELETED);
+    }
+
+    @CacheEvict(value = CacheConfig.APPLICATIONS, key = "#id")
+    @Timed(value = TRANSITION_METRIC, extraTags = {"transition", "reject", "mode", "single"}, histogram = true)
+    public Application rejectApplication(BigInteger id, History historyReason) {
+        return removeApplication(id, historyReason, Arrays.asList(State.VERIFIED, State.ACCEPTED), State.REJECTED);
+    }
+
+    private Application removeApplication(BigInteger id, History historyReason, List<State> allowedStates, State finalState) {
+        if (historyReason.getResignReason() == null || historyReason.getResignReason().isBlank()) {
+            Application current = applicationRepository.findById(id).orElseThrow(() -> new ApplicationNotFoundException(ErrorMessage.ENTITY_NOT_EXIST.format(id)));
+            if (!allowedStates.contains(current.getState())) {
+                throw new WrongStateException(ErrorMessage.WRONG_STATE.format(allowedStates.size() == 1 ? allowedStates.get(0) : allowedStates));
             }
-        } else {
-            throw new WrongStateException(String.format(ErrorMessage.WRONG_STATE.message, State.CREATED));
+            throw new NoReasonException(ErrorMessage.NO_REASON.message);
+        }
+        Query query = FieldProjection.apply(ApplicationQueries.stateQuery(id, allowedStates), Application.class, null);
+        Application application = archiveService.isEnabled()
+                ? archiveAndRemove(query, finalState, historyReason.getResignReason())
+                : mongoTemplate.findAndRemove(query, Application.class);
+        if (application == null) {
+            throw transitionFailure(id, ErrorMessage.WRONG_STATE.format(allowedStates.size() == 1 ? allowedStates.get(0) : allowedStates));
         }
+        History history = History.builder().date(LocalDate.now()).oldState(finalState).applicationId(application.getId()).resignReason(historyReason.getResignReason()).build();
+        historyService.addHistory(history);
+        stateCounterService.increment(application.getState(), -1);
+        stateChangePublisher.publish(EventType.REMOVED, id, application.getState(), finalState);
+        return application;
     }
 
-    public Application rejectApplication(BigInteger id, History historyReason) {
-        Application application = applicationRepository.findById(id).orElseThrow(() -> new ApplicationNotFoundException(String.format(ErrorMessage.ENTITY_NOT_EXIST.message, id)));
-        if (application.getState().equals(State.VERIFIED) || application.getState().equals(State.ACCEPTED)) {
-            if (historyReason.getResignReason() != null && !historyReason.getResignReason().isBlank()) {
-                History history = History.builder().date(LocalDate.now()).oldState(State.REJECTED).applicationId(application.getId()).resignReason(historyReason.getResignReason()).build();
-                historyService.addHistory(history);
-                applicationRepository.delete(application);
-                return application;
-            } else {
-                throw new NoReasonException(ErrorMessage.NO_REASON.message);
+    /**
+     * Moves the document to the final state before archiving it, so no other transition can take it while the archive
+     * copy is written, and removes it only once the copy exists. If archiving fails the previous state is restored.
+     * Returns the document as it was before, or null.
+     */
+    private Application archiveAndRemove(Query query, State finalState, String resignReason) {
+        Application application = mongoTemplate.findAndModify(query, Update.update("state", finalState), Application.class);
+        if (application != null) {
+            try {
+                archiveService.archive(Collections.singletonList(application), finalState, resignReason);
+            } catch (RuntimeException exception) {
+                mongoTemplate.updateFirst(ApplicationQueries.stateQuery(application.getId(), Collections.singletonList(finalState)),
+                        Update.update("state", application.getState()), Application.class);
+                throw exception;
             }
-        } else {
-            throw new WrongStateException(String.format(ErrorMessage.WRONG_STATE.message, Arrays.asList(State.VERIFIED, State.ACCEPTED)));
+            mongoTemplate.remove(ApplicationQueries.stateQuery(application.getId(), Collections.singletonList(finalState)), Application.class);
         }
+        return application;
     }
 
-    public Application updateApplication(Application application){
-        Application applicationToUpdate = applicationRepository.findById(application.getId()).orElseThrow(() -> new ApplicationNotFoundException(String.format(ErrorMessage.ENTITY_NOT_EXIST.message, application.getId())));
-        if (applicationToUpdate.getState().equals(State.CREATED) || applicationToUpdate.getState().equals(State.VERIFIED)){
-            if (application.getContent() != null){
-                applicationToUpdate.setContent(application.getContent());
+    private RuntimeException transitionFailure(BigInteger id, String wrongStateMessage) {
+        if (!applicationRepository.existsById(id)) {
+            return new ApplicationNotFoundException(ErrorMessage.ENTITY_NOT_EXIST.format(id));
+        }
+        return new WrongStateException(wrongStateMessage);
+    }
+
+    @Timed(value = TRANSITION_METRIC, extraTags = {"transition", "verify", "mode", "bulk"}, histogram = true)
+    public BulkResult verifyApplications(BulkRequest request) {
+        return changeApplicationsState(request, Collections.singletonList(State.CREATED), State.VERIFIED);
+    }
+
+    @Timed(value = TRANSITION_METRIC, extraTags = {"transition", "accept", "mode", "bulk"}, histogram = true)
+    public BulkResult acceptApplications(BulkRequest request) {
+        return changeApplicationsState(request, Collections.singletonList(State.VERIFIED), State.ACCEPTED);
+    }
+
+    @Timed(value = TRANSITION_METRIC, extraTags = {"transition", "publish", "mode", "bulk"}, histogram = true)
+    public BulkResult publishApplications(BulkRequest request) {
+        return changeApplicationsState(request, Collections.singletonList(State.ACCEPTED), State.PUBLISHED);
+    }
+
+    @Timed(value = TRANSITION_METRIC, extraTags = {"transition", "delete", "mode", "bulk"}, histogram = true)
+    public BulkResult deleteApplications(BulkRequest request) {
+        return removeApplications(request, Collections.singletonList(State.CREATED), State.DELETED);
+    }
+
+    @Timed(value = TRANSITION_METRIC, extraTags = {"transition", "reject", "mode", "bulk"}, histogram = true)
+    public BulkResult rejectApplications(BulkRequest request) {
+        return removeApplications(request, Arrays.asList(State.VERIFIED, State.ACCEPTED), State.REJECTED);
+    }
+
+    private BulkResult changeApplicationsState(BulkRequest request, List<State> allowedStates, State expectedState) {
+        BulkResult result = new BulkResult();
+        Map<BigInteger, State> candidates = findBulkCandidates(request, allowedStates, result);
+        if (candidates.isEmpty()) {
+            return result;
+        }
+
+        String token = new ObjectId().toHexString();
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+        Map<BigInteger, History> candidateHistories = new HashMap<>();
+        candidates.forEach((id, state) -> {
+            History history = History.builder().date(LocalDate.now()).oldState(state).applicationId(id).build();
+            candidateHistories.put(id, history);
+            bulkOperations.updateOne(Query.query(Criteria.where("_id").is(id).and("state").is(state)), stateUpdate(expectedState, history).push(ApplicationQueries.BATCHES, token));
+        });
+        int modified = bulkOperations.execute().getModifiedCount();
+
+        Map<BigInteger, State> changed = modified == candidates.size() ? candidates : findMarked(candidates, token, result);
+        List<History> histories = new ArrayList<>();
+        changed.keySet().forEach(id -> histories.add(candidateHistories.get(id)));
+        historyService.addHistories(histories);
+        countByState(changed).forEach((state, count) -> stateCounterService.transition(state, expectedState, count));
+        changed.forEach((id, state) -> stateChangePublisher.publish(EventType.CHANGED, id, state, expectedState));
+        evictApplications(changed.keySet());
+        result.getChanged().addAll(changed.keySet());
+        return result;
+    }
+
+    private BulkResult removeApplications(BulkRequest request, List<State> allowedStates, State finalState) {
+        if (request.getResignReason() == null || request.getResignReason().isBlank()) {
+            throw new NoReasonException(ErrorMessage.NO_REASON.message);
+        }
+        BulkResult result = new BulkResult();
+        Map<BigInteger, State> candidates = findBulkCandidates(request, allowedStates, result);
+        if (candidates.isEmpty()) {
+            return result;
+        }
+
+        // Moving the documents to the final state first takes them out of reach of every other transition, so exactly
+        // the documents carrying this batch's token are archived and removed below.
+        String token = new ObjectId().toHexString();
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+        candidates.forEach((id, state) -> bulkOperations.updateOne(Query.query(Criteria.where("_id").is(id).and("state").is(state)),
+                Update.update("state", finalState).push(ApplicationQueries.BATCHES, token)));
+        int marked = bulkOperations.execute().getModifiedCount();
+
+        Map<BigInteger, State> changed = marked == candidates.size() ? candidates : findMarked(candidates, token, result);
+        if (archiveService.isEnabled()) {
+            try {
+                archiveService.archive(mongoTemplate.find(ApplicationQueries.batchQuery(token), Application.class), finalState, request.getResignReason());
+            } catch (RuntimeException exception) {
+                BulkOperations restore = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+                changed.forEach((id, state) -> restore.updateOne(Query.query(Criteria.where("_id").is(id).and(ApplicationQueries.BATCHES).is(token)), Update.update("state", state)));
+                restore.execute();
+                throw exception;
             }
-            if (application.getName() != null){
-                applicationToUpdate.setName(application.getName());
+        }
+        mongoTemplate.remove(ApplicationQueries.batchQuery(token), Application.class);
+
+        List<History> histories = new ArrayList<>();
+        changed.forEach((id, state) -> histories.add(History.builder().date(LocalDate.now()).oldState(finalState).applicationId(id).resignReason(request.getResignReason()).build()));
+        historyService.addHistories(histories);
+        countByState(changed).forEach((state, count) -> stateCounterService.increment(state, -count));
+        changed.forEach((id, state) -> stateChangePublisher.publish(EventType.REMOVED, id, state, finalState));
+        evictApplications(changed.keySet());
+        result.getChanged().addAll(changed.keySet());
+        return result;
+    }
+
+    private Map<State, Long> countByState(Map<BigInteger, State> states) {
+        Map<State, Long> counts = new EnumMap<>(State.class);
+        states.values().forEach(state -> counts.merge(state, 1L, Long::sum));
+        return counts;
+    }
+
+    private void evictApplications(Collection<BigInteger> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.APPLICATIONS);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    private Map<BigInteger, State> findBulkCandidates(BulkRequest request, List<State> allowedStates, BulkResult result) {
+        if (request.getIds() == null || request.getIds().isEmpty()) {
+            throw new NoParameterException(ErrorMessage.NO_IDS.message);
+        }
+        Map<BigInteger, State> states = findStates(new LinkedHashSet<>(request.getIds()));
+        Map<BigInteger, State> candidates = new LinkedHashMap<>();
+        for (BigInteger id : new LinkedHashSet<>(request.getIds())) {
+            State state = states.get(id);
+            if (state == null) {
+                result.getNotFound().add(id);
+            } else if (allowedStates.contains(state)) {
+                candidates.put(id, state);
+            } else {
+                result.getWrongState().add(id);
             }
-            applicationRepository.save(applicationToUpdate);
-            return applicationToUpdate;
-        } else {
-            throw new WrongStateException(String.format(ErrorMessage.WRONG_STATE.message, Arrays.asList(State.CREATED, State.VERIFIED)));
         }
+        return candidates;
+    }
+
+    private Map<BigInteger, State> findMarked(Map<BigInteger, State> candidates, String token, BulkResult result) {
+        Query query = Query.query(Criteria.where("_id").in(candidates.keySet()));
+        query.fields().include("_id");
+        Set<BigInteger> existing = new HashSet<>();
+        mongoTemplate.find(query, Application.class).forEach(application -> existing.add(application.getId()));
+        query.addCriteria(Criteria.where(ApplicationQueries.BATCHES).is(token));
+        Set<BigInteger> marked = new HashSet<>();
+        mongoTemplate.find(query, Application.class).forEach(application -> marked.add(application.getId()));
+
+        Map<BigInteger, State> changed = new LinkedHashMap<>();
+        candidates.forEach((id, state) -> {
+            if (marked.contains(id)) {
+                changed.put(id, state);
+            } else if (existing.contains(id)) {
+                result.getWrongState().add(id);
+            } else {
+                result.getNotFound().add(id);
+            }
+        });
+        return changed;
+    }
+
+    private Map<BigInteger, State> findStates(Collection<BigInteger> ids) {
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("state");
+        Map<BigInteger, State> states = new HashMap<>();
+        mongoTemplate.find(query, Application.class).forEach(application -> states.put(application.getId(), application.getState()));
+        return states;
+    }
+
+    @CachePut(value = CacheConfig.APPLICATIONS, key = "#application.id")
+    @Timed(value = TRANSITION_METRIC, extraTags = {"transition", "update", "mode", "single"}, histogram = true)
+    public Application updateApplication(Application application){
+        Query query = FieldProjection.apply(ApplicationQueries.updateQuery(application.getId(), application.getVersion()), Application.class, null);
+        Application updatedApplication = mongoTemplate.findAndModify(query, ApplicationQueries.contentUpdate(application), FindAndModifyOptions.options().returnNew(true), Application.class);
+        if (updatedApplication == null) {
+            throw updateFailure(application);
+        }
+        return updatedApplication;
+    }
+
+    private RuntimeException updateFailure(Application application) {
+        Application current = applicationRepository.findById(application.getId()).orElseThrow(() -> new ApplicationNotFoundException(ErrorMessage.ENTITY_NOT_EXIST.format(application.getId())));
+        if (!current.getState().equals(State.CREATED) && !current.getState().equals(State.VERIFIED)) {
+            return new WrongStateException(ErrorMessage.WRONG_STATE.format(Arrays.asList(State.CREATED, State.VERIFIED)));
+        }
+        return new VersionConflictException(ErrorMessage.VERSION_CONFLICT.format(application.getId(), application.getVersion()));
     }
 
     public Page<Application> getAllPages(Pageable pageable, String name, State state){
-        Query query = new Query().with(pageable);
-        final List<Criteria> criteria = new ArrayList<>();
+        return getAllPages(pageable, name, state, null);
+    }
 
-        if (name != null && !name.isBlank())
-            criteria.add(Criteria.where("name").is(name));
-        if (state != null)
-            criteria.add(Criteria.where("state").is(state));
-        if (!criteria.isEmpty()) {
-            query.addCriteria(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+    public Page<Application> getAllPages(Pageable pageable, String name, State state, Collection<String> fields){
+        Query query = FieldProjection.apply(ApplicationQueries.filterQuery(name, state), Application.class, fields).with(pageable);
+
+        return PageableExecutionUtils.getPage(
+                mongoTemplate.find(query, Application.class),
+                pageable,
+                () -> mongoTemplate.count(query.skip(0).limit(0), Application.class)
+        );
+    }
+
+    public Page<Application> search(Pageable pageable, String name, String text){
+        if ((name == null || name.isBlank()) && (text == null || text.isBlank())) {
+            throw new NoParameterException(ErrorMessage.NO_SEARCH.message);
         }
+        Query query = FieldProjection.apply(ApplicationQueries.searchQuery(name, text), Application.class, null).with(pageable);
 
         return PageableExecutionUtils.getPage(
                 mongoTemplate.find(query, Application.class),
@@ -144,4 +489,27 @@ public class ApplicationService {
                 () -> mongoTemplate.count(query.skip(0).limit(0), Application.class)
         );
     }
+
+    public CursorPage<Application> getCursorPage(String cursor, int pageSize, String name, State state, CountMode countMode){
+        return getCursorPage(cursor, pageSize, name, state, countMode, null);
+    }
+
+    public CursorPage<Application> getCursorPage(String cursor, int pageSize, String name, State state, CountMode countMode, Collection<String> fields){
+        final int size = Math.max(pageSize, 1);
+        Query query = FieldProjection.apply(ApplicationQueries.cursorQuery(cursor, size, name, state), Application.class, fields);
+        List<Application> applications = mongoTemplate.find(query, Application.class);
+        return ApplicationQueries.cursorPage(applications, size, countApplications(ApplicationQueries.filterQuery(name, state), countMode));
+    }
+
+    private Long countApplications(Query query, CountMode countMode){
+        switch (countMode) {
+            case EXACT:
+                return mongoTemplate.count(query, Application.class);
+            case ESTIMATED:
+                // collection metadata only, so it ignores name/state filters
+                return mongoTemplate.estimatedCount(Application.class);
+            default:
+                return null;
+        }
+    }
 }
@@ -0,0 +1,206 @@
+package application.management.task.service;
+
+import application.management.task.config.CacheConfig;
+import application.management.task.error.ApplicationNotFoundException;
+import application.management.task.model.Application;
+import application.management.task.model.ArchivedApplication;
+import application.management.task.model.ErrorMessage;
+import application.management.task.model.EventType;
+import application.management.task.model.History;
+import application.management.task.model.HistorySummary;
+import application.management.task.model.State;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ArchiveService {
+
+    private static final String ARCHIVE_LOG = "Archived %d published applications older than %s.";
+    private static final String COMPACT_LOG = "Compacted %d history entries of %d applications older than %s.";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private StateCounterService stateCounterService;
+
+    @Autowired
+    private StateChangePublisher stateChangePublisher;
+
+    @Value("${applications.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${applications.archive.published-after-days:30}")
+    private int publishedAfterDays;
+
+    @Value("${applications.archive.history-after-days:90}")
+    private int historyAfterDays;
+
+    @Value("${applications.archive.batch-size:500}")
+    private int batchSize;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void archive(Collection<Application> applications, State finalState, String resignReason) {
+        if (applications.isEmpty()) {
+            return;
+        }
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ArchivedApplication.class);
+        for (Application application : applications) {
+            bulkOperations.replaceOne(Query.query(Criteria.where("_id").is(application.getId())), archivedApplication(application, finalState, resignReason),
+                    FindAndReplaceOptions.options().upsert());
+        }
+        bulkOperations.execute();
+    }
+
+    static ArchivedApplication archivedApplication(Application application, State finalState, String resignReason) {
+        return ArchivedApplication.builder().id(application.getId()).state(finalState).name(application.getName())
+                .content(application.getContent()).resignReason(resignReason).archivedAt(LocalDate.now()).build();
+    }
+
+    public ArchivedApplication getArchivedApplication(BigInteger id) {
+        ArchivedApplication archivedApplication = mongoTemplate.findById(id, ArchivedApplication.class);
+        if (archivedApplication == null) {
+            throw new ApplicationNotFoundException(ErrorMessage.ENTITY_NOT_EXIST.format(id));
+        }
+        return archivedApplication;
+    }
+
+    public HistorySummary getHistorySummary(BigInteger applicationId) {
+        HistorySummary summary = mongoTemplate.findById(applicationId, HistorySummary.class);
+        if (summary == null) {
+            throw new ApplicationNotFoundException(ErrorMessage.ENTITY_NOT_EXIST.format(applicationId));
+        }
+        return summary;
+    }
+
+    @Scheduled(initialDelayString = "${applications.archive.delay:60000}", fixedDelayString = "${applications.archive.interval:3600000}")
+    public void runArchive() {
+        if (enabled) {
+            archivePublished();
+            compactHistory();
+        }
+    }
+
+    public long archivePublished() {
+        // applications published before stateChangedAt existed start their retention now; the version changes with the
+        // body and cached copies are dropped, so the old ETag no longer matches
+        if (mongoTemplate.updateMulti(Query.query(Criteria.where("state").is(State.PUBLISHED).and("stateChangedAt").exists(false)),
+                Update.update("stateChangedAt", LocalDate.now()).inc("version", 1), Application.class).getModifiedCount() > 0) {
+            Cache cache = cacheManager.getCache(CacheConfig.APPLICATIONS);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+
+        LocalDate cutoff = LocalDate.now().minusDays(publishedAfterDays);
+        Query query = publishedBeforeQuery(cutoff).limit(batchSize);
+        long archived = 0;
+        List<Application> batch;
+        while (!(batch = mongoTemplate.find(query, Application.class)).isEmpty()) {
+            archive(batch, State.PUBLISHED, null);
+            List<BigInteger> ids = batch.stream().map(Application::getId).collect(Collectors.toList());
+            long removed = 0;
+            // one delete per document, so only the applications this run removed are announced
+            for (BigInteger id : ids) {
+                if (mongoTemplate.remove(Query.query(Criteria.where("_id").is(id).and("state").is(State.PUBLISHED)), Application.class).getDeletedCount() > 0) {
+                    stateChangePublisher.publish(EventType.REMOVED, id, State.PUBLISHED, State.PUBLISHED);
+                    removed++;
+                }
+            }
+            stateCounterService.increment(State.PUBLISHED, -removed);
+            evict(CacheConfig.APPLICATIONS, ids);
+            archived += removed;
+        }
+        log.info(String.format(ARCHIVE_LOG, archived, cutoff));
+        return archived;
+    }
+
+    public long compactHistory() {
+        LocalDate cutoff = LocalDate.now().minusDays(historyAfterDays);
+        Query query = historyBeforeQuery(cutoff);
+        long compacted = 0;
+        List<BigInteger> applicationIds = new ArrayList<>();
+        List<History> entries = new ArrayList<>();
+        try (CloseableIterator<History> histories = mongoTemplate.stream(query, History.class)) {
+            while (histories.hasNext()) {
+                History history = histories.next();
+                if (!entries.isEmpty() && !entries.get(0).getApplicationId().equals(history.getApplicationId())) {
+                    compacted += compact(entries, cutoff);
+                    applicationIds.add(entries.get(0).getApplicationId());
+                    entries.clear();
+                }
+                entries.add(history);
+            }
+        }
+        if (!entries.isEmpty()) {
+            compacted += compact(entries, cutoff);
+            applicationIds.add(entries.get(0).getApplicationId());
+        }
+        evict(CacheConfig.HISTORIES, applicationIds);
+        log.info(String.format(COMPACT_LOG, compacted, applicationIds.size(), cutoff));
+        return compacted;
+    }
+
+    static Query publishedBeforeQuery(LocalDate cutoff) {
+        return Query.query(Criteria.where("state").is(State.PUBLISHED).and("stateChangedAt").lt(cutoff));
+    }
+
+    static Query historyBeforeQuery(LocalDate cutoff) {
+        return Query.query(Criteria.where("date").lt(cutoff)).with(Sort.by("applicationId", "date"));
+    }
+
+    private long compact(List<History> entries, LocalDate cutoff) {
+        BigInteger applicationId = entries.get(0).getApplicationId();
+        HistorySummary summary = mongoTemplate.findById(applicationId, HistorySummary.class);
+        if (summary == null) {
+            summary = HistorySummary.builder().applicationId(applicationId).firstDate(entries.get(0).getDate()).build();
+        }
+        for (History history : entries) {
+            if (summary.getLastDate() != null && !history.getDate().isAfter(summary.getLastDate())) {
+                continue;
+            }
+            summary.setTransitions(summary.getTransitions() + 1);
+            summary.getStates().add(history.getOldState());
+            if (history.getResignReason() != null) {
+                summary.setResignReason(history.getResignReason());
+            }
+        }
+        summary.setLastDate(entries.get(entries.size() - 1).getDate());
+        mongoTemplate.save(summary);
+        return mongoTemplate.remove(Query.query(Criteria.where("applicationId").is(applicationId).and("date").lt(cutoff)), History.class).getDeletedCount();
+    }
+
+    private void evict(String cacheName, Collection<BigInteger> ids) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package application.management.task.service;
+
+import application.management.task.model.CacheStatistics;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheStatisticsService {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public List<CacheStatistics> getCacheStatistics() {
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+                CacheStats stats = nativeCache.stats();
+                statistics.add(CacheStatistics.builder()
+                        .name(name)
+                        .size(nativeCache.estimatedSize())
+                        .hitCount(stats.hitCount())
+                        .missCount(stats.missCount())
+                        .hitRate(stats.hitRate())
+                        .evictionCount(stats.evictionCount())
+                        .build());
+            }
+        }
+        return statistics;
+    }
+}
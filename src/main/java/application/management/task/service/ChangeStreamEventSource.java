@@ -0,0 +1,135 @@
+package application.management.task.service;
+
+import application.management.task.model.Application;
+import application.management.task.model.EventType;
+import application.management.task.model.State;
+import application.management.task.model.StateChangeEvent;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "applications.events.source", havingValue = "CHANGE_STREAM")
+public class ChangeStreamEventSource {
+
+    private static final String WATCH_ERROR_LOG = "Change stream on %s failed, reconnecting.";
+    private static final long RETRY_INTERVAL = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Thread worker;
+    private volatile boolean running;
+    private BsonDocument resumeToken;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "change-stream-events");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void run() {
+        String collection = mongoTemplate.getCollectionName(Application.class);
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = watch(collection)) {
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        publish(change);
+                        resumeToken = change.getResumeToken();
+                    }
+                }
+            } catch (MongoException exception) {
+                log.warn(String.format(WATCH_ERROR_LOG, collection), exception);
+                sleep();
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> watch(String collection) {
+        ChangeStreamIterable<Document> changeStream = mongoTemplate.getCollection(collection)
+                .watch(List.of(Aggregates.match(Filters.in("operationType", "insert", "update", "replace", "delete"))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP);
+        if (resumeToken != null) {
+            changeStream.resumeAfter(resumeToken);
+        }
+        return changeStream.cursor();
+    }
+
+    private void publish(ChangeStreamDocument<Document> change) {
+        BigInteger id = toId(change.getDocumentKey().get("_id"));
+        switch (change.getOperationType()) {
+            case INSERT:
+                publish(EventType.CREATED, id, stateOf(change.getFullDocument()));
+                break;
+            case UPDATE:
+                if (change.getUpdateDescription() != null && change.getUpdateDescription().getUpdatedFields() != null
+                        && change.getUpdateDescription().getUpdatedFields().containsKey("state")) {
+                    publish(EventType.CHANGED, id, State.valueOf(change.getUpdateDescription().getUpdatedFields().getString("state").getValue()));
+                }
+                break;
+            case REPLACE:
+                publish(EventType.CHANGED, id, stateOf(change.getFullDocument()));
+                break;
+            case DELETE:
+                publish(EventType.REMOVED, id, null);
+                break;
+            default:
+        }
+    }
+
+    private void publish(EventType type, BigInteger id, State state) {
+        eventPublisher.publishEvent(StateChangeEvent.builder().type(type).applicationId(id).state(state).time(LocalDateTime.now()).build());
+    }
+
+    private State stateOf(Document document) {
+        return document != null && document.getString("state") != null ? State.valueOf(document.getString("state")) : null;
+    }
+
+    private BigInteger toId(BsonValue id) {
+        if (id.isObjectId()) {
+            return new BigInteger(id.asObjectId().getValue().toHexString(), 16);
+        }
+        return new BigInteger(id.isString() ? id.asString().getValue() : String.valueOf(id.asNumber().longValue()));
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(RETRY_INTERVAL);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join(RETRY_INTERVAL);
+    }
+}
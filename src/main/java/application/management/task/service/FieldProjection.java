@@ -0,0 +1,53 @@
+package application.management.task.service;
+
+import application.management.task.error.InvalidFieldException;
+import application.management.task.model.Application;
+import application.management.task.model.ErrorMessage;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class FieldProjection {
+
+    private static final Map<Class<?>, Set<String>> SELECTABLE_FIELDS = new ConcurrentHashMap<>();
+
+    /**
+     * Fields left out of every read unless asked for explicitly, such as the embedded history that only
+     * {@code ?withHistory=true} returns.
+     */
+    private static final Map<Class<?>, Set<String>> HIDDEN_FIELDS = Map.of(Application.class, Set.of("recentHistory"));
+
+    private FieldProjection() {
+    }
+
+    static Query apply(Query query, Class<?> entityClass, Collection<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            HIDDEN_FIELDS.getOrDefault(entityClass, Set.of()).forEach(field -> query.fields().exclude(field));
+            return query;
+        }
+        Set<String> selectable = SELECTABLE_FIELDS.computeIfAbsent(entityClass, FieldProjection::selectableFields);
+        for (String field : fields) {
+            if (!selectable.contains(field.trim()))
+                throw new InvalidFieldException(ErrorMessage.INVALID_FIELD.format(field));
+            query.fields().include(field.trim());
+        }
+        return query;
+    }
+
+    private static Set<String> selectableFields(Class<?> entityClass) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (Field field : entityClass.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isAnnotationPresent(JsonIgnore.class)
+                    && !HIDDEN_FIELDS.getOrDefault(entityClass, Set.of()).contains(field.getName()))
+                fields.add(field.getName());
+        }
+        return fields;
+    }
+}
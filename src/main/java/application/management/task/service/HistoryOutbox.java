@@ -0,0 +1,191 @@
+package application.management.task.service;
+
+import application.management.task.model.History;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of history entries that are not yet in the database, split into numbered segment files next to
+ * {@code path}. A segment is deleted as soon as every entry written to it has been flushed, so the log only holds
+ * what is still queued. Without {@code fsync} an entry survives a process crash but not a power loss. Entries the
+ * database keeps rejecting are moved to the dead-letter file {@code <path>.dead}, which is never replayed.
+ */
+class HistoryOutbox {
+
+    static final String DEAD_LETTER_SUFFIX = ".dead";
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final Map<Long, Segment> segments = new HashMap<>();
+    private List<Path> pending = new ArrayList<>();
+    private Segment current;
+    private long nextNumber;
+
+    HistoryOutbox(Path path, ObjectMapper objectMapper, int segmentSize, boolean fsync) {
+        this.path = path.toAbsolutePath();
+        this.objectMapper = objectMapper;
+        this.segmentSize = Math.max(segmentSize, 1);
+        this.fsync = fsync;
+    }
+
+    /**
+     * Prepares the directory and returns the number of files a previous run left behind.
+     */
+    synchronized int open() throws IOException {
+        Files.createDirectories(path.getParent());
+        String prefix = path.getFileName() + ".";
+        try (Stream<Path> files = Files.list(path.getParent())) {
+            pending = files.filter(file -> file.getFileName().toString().startsWith(prefix))
+                    .filter(file -> file.getFileName().toString().substring(prefix.length()).matches("\\d+"))
+                    .sorted((left, right) -> Long.compare(number(left), number(right)))
+                    .collect(Collectors.toList());
+        }
+        if (Files.exists(path)) {
+            pending.add(0, path);
+        }
+        nextNumber = pending.stream().filter(file -> !file.equals(path)).mapToLong(this::number).max().orElse(0) + 1;
+        return pending.size();
+    }
+
+    /**
+     * Streams the entries left by a previous run to {@code insert} in batches and deletes each file once all of its
+     * entries were inserted.
+     */
+    void replay(int batchSize, Consumer<List<History>> insert) throws IOException {
+        for (Path file : pending) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                List<History> batch = new ArrayList<>(batchSize);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    batch.add(objectMapper.readValue(line, History.class));
+                    if (batch.size() == batchSize) {
+                        insert.accept(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    insert.accept(batch);
+                }
+            }
+            Files.delete(file);
+        }
+        pending = new ArrayList<>();
+    }
+
+    /**
+     * Writes {@code history} to the current segment and returns the segment number to acknowledge it with.
+     */
+    synchronized long append(History history) {
+        try {
+            if (current == null || current.appended == segmentSize) {
+                roll();
+            }
+            current.writer.write(objectMapper.writeValueAsString(history));
+            current.writer.newLine();
+            current.writer.flush();
+            if (fsync) {
+                current.channel.force(false);
+            }
+            current.appended++;
+            return current.number;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Appends {@code histories} to the dead-letter file and returns its path.
+     */
+    synchronized Path deadLetter(List<History> histories) throws IOException {
+        Path file = path.resolveSibling(path.getFileName() + DEAD_LETTER_SUFFIX);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+            for (History history : histories) {
+                writer.write(objectMapper.writeValueAsString(history));
+                writer.newLine();
+            }
+            writer.flush();
+            if (fsync) {
+                channel.force(false);
+            }
+        }
+        return file;
+    }
+
+    synchronized void acknowledge(long number, int count) throws IOException {
+        Segment segment = segments.get(number);
+        if (segment == null) {
+            return;
+        }
+        segment.flushed += count;
+        if (segment.flushed < segment.appended) {
+            return;
+        }
+        if (segment == current) {
+            current = null;
+        }
+        segments.remove(number);
+        segment.writer.close();
+        Files.deleteIfExists(segment.path);
+    }
+
+    synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.writer.close();
+        }
+        segments.clear();
+        current = null;
+    }
+
+    private void roll() throws IOException {
+        long number = nextNumber++;
+        Path file = path.resolveSibling(path.getFileName() + "." + number);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        current = new Segment(number, file, channel);
+        segments.put(number, current);
+    }
+
+    private long number(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(name.lastIndexOf('.') + 1));
+    }
+
+    private static final class Segment {
+
+        private final long number;
+        private final Path path;
+        private final FileChannel channel;
+        private final BufferedWriter writer;
+        private long appended;
+        private long flushed;
+
+        private Segment(long number, Path path, FileChannel channel) {
+            this.number = number;
+            this.path = path;
+            this.channel = channel;
+            this.writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+        }
+    }
+}
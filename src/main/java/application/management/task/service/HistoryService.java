@@ -1,11 +1,24 @@
 package application.management.task.service;
 
+import application.management.task.config.CacheConfig;
 import application.management.task.model.History;
+import application.management.task.model.HistoryMarker;
 import application.management.task.repository.HistoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.stereotype.Service;
 
 import java.math.BigInteger;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -14,18 +27,75 @@ public class HistoryService {
     @Autowired
     private HistoryRepository historyRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private HistoryWriter historyWriter;
+
+    @CacheEvict(value = CacheConfig.HISTORIES, key = "#history.applicationId")
     public void addHistory(History history){
-        historyRepository.save(history);
+        if (historyWriter.isAsync()) {
+            historyWriter.append(history);
+        } else {
+            historyRepository.save(history);
+        }
+    }
+
+    public void addHistories(List<History> histories){
+        if (historyWriter.isAsync()) {
+            histories.forEach(historyWriter::append);
+        } else if (!histories.isEmpty()) {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, History.class).insert(histories).execute();
+            Cache cache = cacheManager.getCache(CacheConfig.HISTORIES);
+            if (cache != null) {
+                histories.forEach(history -> cache.evict(history.getApplicationId()));
+            }
+        }
     }
 
     public List<History> getAllHistory(){
         return historyRepository.findAll();
     }
 
+    public List<History> getAllHistory(Collection<String> fields){
+        if (fields == null || fields.isEmpty()) {
+            return getAllHistory();
+        }
+        return mongoTemplate.find(FieldProjection.apply(new Query(), History.class, fields), History.class);
+    }
+
+    public CloseableIterator<History> streamAllHistory(){
+        return streamAllHistory(null);
+    }
+
+    public CloseableIterator<History> streamAllHistory(Collection<String> fields){
+        return mongoTemplate.stream(FieldProjection.apply(new Query(), History.class, fields), History.class);
+    }
+
     public History getHistoryById(BigInteger id){
         return historyRepository.findById(id).get();
     }
 
+    public HistoryMarker getHistoryMarker(BigInteger applicationId){
+        Cache cache = cacheManager.getCache(CacheConfig.HISTORIES);
+        Cache.ValueWrapper cached = cache != null ? cache.get(applicationId) : null;
+        if (cached != null && cached.get() != null) {
+            @SuppressWarnings("unchecked")
+            List<History> histories = (List<History>) cached.get();
+            return HistoryMarker.of(histories);
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("applicationId").is(applicationId)),
+                Aggregation.group().count().as("count").min("date").as("first").max("date").as("last"));
+        HistoryMarker marker = mongoTemplate.aggregate(aggregation, History.class, HistoryMarker.class).getUniqueMappedResult();
+        return marker != null ? marker : new HistoryMarker();
+    }
+
+    @Cacheable(value = CacheConfig.HISTORIES, key = "#applicationId")
     public List<History> getHistoryOfApplication(BigInteger applicationId){
         return historyRepository.findAllByApplicationId(applicationId);
     }
@@ -0,0 +1,254 @@
+package application.management.task.service;
+
+import application.management.task.config.CacheConfig;
+import application.management.task.error.HistoryBacklogException;
+import application.management.task.model.ErrorMessage;
+import application.management.task.model.History;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ErrorCategory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class HistoryWriter {
+
+    private static final String REPLAY_LOG = "Replaying %d segments of history outbox %s.";
+    private static final String FLUSH_ERROR_LOG = "Flushing %d history entries failed, attempt %d of %d.";
+    private static final String UNAVAILABLE_LOG = "Flushing %d history entries failed, database unavailable.";
+    private static final String DEAD_LETTER_LOG = "Moved %d history entries the database rejected to %s.";
+    private static final String SHUTDOWN_LOG = "History writer stopped with %d entries left in outbox %s.";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Value("${applications.history.async:false}")
+    private boolean async;
+
+    @Value("${applications.history.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${applications.history.batch-size:500}")
+    private int batchSize;
+
+    @Value("${applications.history.flush-interval:200}")
+    private long flushInterval;
+
+    @Value("${applications.history.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${applications.history.append-timeout:1000}")
+    private long appendTimeout;
+
+    @Value("${applications.history.outbox:history-outbox.ndjson}")
+    private String outboxPath;
+
+    @Value("${applications.history.outbox-segment-size:10000}")
+    private int segmentSize;
+
+    @Value("${applications.history.outbox-fsync:false}")
+    private boolean fsync;
+
+    private BlockingQueue<Pending> queue;
+    private HistoryOutbox outbox;
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!async) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        outbox = new HistoryOutbox(Paths.get(outboxPath), objectMapper, segmentSize, fsync);
+        int segments = outbox.open();
+        if (segments > 0) {
+            log.info(String.format(REPLAY_LOG, segments, outboxPath));
+            outbox.replay(batchSize, batch -> {
+                List<History> rejected = insert(batch);
+                if (!rejected.isEmpty()) {
+                    deadLetter(rejected);
+                }
+            });
+        }
+        running = true;
+        worker = new Thread(this::run, "history-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Writes {@code history} to the outbox and queues it. If the queue stays full for {@code append-timeout}
+     * milliseconds the request fails instead of waiting for the writer. The entry is still in the outbox then and is
+     * inserted when the outbox is replayed on the next start.
+     */
+    public void append(History history) {
+        if (history.getId() == null) {
+            history.setId(idGenerator.nextId(History.class));
+        }
+        long segment = outbox.append(history);
+        try {
+            if (!queue.offer(new Pending(history, segment), appendTimeout, TimeUnit.MILLISECONDS)) {
+                throw new HistoryBacklogException(ErrorMessage.HISTORY_BACKLOG.message);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(flushInterval, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushInterval);
+                while (batch.size() < batchSize) {
+                    Pending next = queue.poll(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Inserts the batch, retrying what failed up to {@code max-attempts} times. Entries that still fail are moved to
+     * the dead-letter file, so one invalid entry cannot stop the writer. While the database is unreachable nothing is
+     * dead-lettered; the queue fills up and {@link #append} starts rejecting requests instead.
+     */
+    private void flush(List<Pending> batch) throws InterruptedException {
+        List<History> histories = batch.stream().map(pending -> pending.history).collect(Collectors.toList());
+        List<History> failed = histories;
+        int attempt = 0;
+        while (true) {
+            try {
+                failed = insert(failed);
+                if (failed.isEmpty()) {
+                    break;
+                }
+                attempt++;
+                log.error(String.format(FLUSH_ERROR_LOG, failed.size(), attempt, maxAttempts));
+            } catch (DataAccessResourceFailureException exception) {
+                log.error(String.format(UNAVAILABLE_LOG, failed.size()), exception);
+            } catch (RuntimeException exception) {
+                attempt++;
+                log.error(String.format(FLUSH_ERROR_LOG, failed.size(), attempt, maxAttempts), exception);
+            }
+            if (attempt >= maxAttempts) {
+                deadLetter(failed);
+                break;
+            }
+            if (!running) {
+                throw new InterruptedException();
+            }
+            TimeUnit.MILLISECONDS.sleep(flushInterval);
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.HISTORIES);
+        if (cache != null) {
+            histories.forEach(history -> cache.evict(history.getApplicationId()));
+        }
+        Map<Long, Integer> flushed = new HashMap<>();
+        batch.forEach(pending -> flushed.merge(pending.segment, 1, Integer::sum));
+        try {
+            for (Map.Entry<Long, Integer> segment : flushed.entrySet()) {
+                outbox.acknowledge(segment.getKey(), segment.getValue());
+            }
+        } catch (IOException exception) {
+            log.error(exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Returns the entries the database rejected. Duplicates were inserted before, so they do not count.
+     */
+    private List<History> insert(List<History> batch) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, History.class).insert(batch).execute();
+            return Collections.emptyList();
+        } catch (BulkOperationException exception) {
+            return exception.getErrors().stream()
+                    .filter(error -> ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY)
+                    .map(error -> batch.get(error.getIndex()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private void deadLetter(List<History> histories) {
+        try {
+            log.error(String.format(DEAD_LETTER_LOG, histories.size(), outbox.deadLetter(histories)));
+        } catch (IOException exception) {
+            log.error(exception.getMessage(), exception);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (!async) {
+            return;
+        }
+        running = false;
+        worker.join();
+        if (!queue.isEmpty()) {
+            log.warn(String.format(SHUTDOWN_LOG, queue.size(), outboxPath));
+        }
+        outbox.close();
+    }
+
+    private static final class Pending {
+
+        private final History history;
+        private final long segment;
+
+        private Pending(History history, long segment) {
+            this.history = history;
+            this.segment = segment;
+        }
+    }
+}
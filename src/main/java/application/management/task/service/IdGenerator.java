@@ -0,0 +1,8 @@
+package application.management.task.service;
+
+import java.math.BigInteger;
+
+public interface IdGenerator {
+
+    BigInteger nextId(Class<?> entityClass);
+}
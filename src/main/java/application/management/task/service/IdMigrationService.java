@@ -0,0 +1,169 @@
+package application.management.task.service;
+
+import application.management.task.config.CacheConfig;
+import application.management.task.model.Application;
+import application.management.task.model.ArchivedApplication;
+import application.management.task.model.History;
+import application.management.task.model.HistorySummary;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Rewrites ObjectId ids to sequence ids. The startup migration runs once every bean is created and before the web
+ * server starts, so no request of this instance can change a document while it is copied. Other instances must not
+ * serve traffic meanwhile. Requests for an old id are resolved through the mapping the migration keeps.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "applications.id.strategy", havingValue = "sequence")
+public class IdMigrationService implements SmartInitializingSingleton {
+
+    public static final String MIGRATION_COLLECTION = "idMigration";
+
+    private static final int OBJECT_ID_BITS = 96;
+    private static final String MIGRATION_LOG = "Migrated %d applications and archived applications from ObjectId to sequence ids.";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${applications.id.migrate:false}")
+    private boolean migrateOnStartup;
+
+    @Value("${applications.id.migration-batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (migrateOnStartup) {
+            migrate();
+        }
+    }
+
+    /**
+     * Returns the sequence id a migrated ObjectId was given, or null.
+     */
+    public BigInteger migratedId(BigInteger legacyId) {
+        if (!isObjectId(legacyId)) {
+            return null;
+        }
+        Document mapping = mongoTemplate.findOne(mappingQuery(legacyId), Document.class, MIGRATION_COLLECTION);
+        return mapping != null ? new BigInteger(mapping.getString("newId")) : null;
+    }
+
+    public long migrate() {
+        long migrated = 0;
+        List<Application> applications;
+        while (!(applications = mongoTemplate.find(legacyQuery(), Application.class)).isEmpty()) {
+            for (Application application : applications) {
+                migrate(application);
+                migrated++;
+            }
+        }
+        List<ArchivedApplication> archived;
+        while (!(archived = mongoTemplate.find(legacyQuery(), ArchivedApplication.class)).isEmpty()) {
+            for (ArchivedApplication application : archived) {
+                migrate(application);
+                migrated++;
+            }
+        }
+        List<HistorySummary> summaries;
+        while (!(summaries = mongoTemplate.find(legacyQuery(), HistorySummary.class)).isEmpty()) {
+            summaries.forEach(this::migrate);
+        }
+        if (migrated > 0) {
+            cacheManager.getCache(CacheConfig.APPLICATIONS).clear();
+            cacheManager.getCache(CacheConfig.HISTORIES).clear();
+        }
+        log.info(String.format(MIGRATION_LOG, migrated));
+        return migrated;
+    }
+
+    private Query legacyQuery() {
+        return Query.query(Criteria.where("_id").type(ApplicationQueries.OBJECT_ID_TYPE)).limit(batchSize);
+    }
+
+    private void migrate(Application application) {
+        BigInteger legacyId = application.getId();
+        BigInteger newId = assignedId(legacyId);
+
+        application.setId(newId);
+        if (application.getRecentHistory() != null) {
+            application.getRecentHistory().forEach(history -> history.setApplicationId(newId));
+        }
+        insertIfAbsent(application, newId, Application.class);
+        migrateHistory(legacyId, newId);
+        remove(legacyId, Application.class);
+    }
+
+    private void migrate(ArchivedApplication application) {
+        BigInteger legacyId = application.getId();
+        BigInteger newId = assignedId(legacyId);
+
+        application.setId(newId);
+        insertIfAbsent(application, newId, ArchivedApplication.class);
+        migrateHistory(legacyId, newId);
+        remove(legacyId, ArchivedApplication.class);
+    }
+
+    private void migrate(HistorySummary summary) {
+        BigInteger legacyId = summary.getApplicationId();
+        BigInteger newId = assignedId(legacyId);
+
+        summary.setApplicationId(newId);
+        insertIfAbsent(summary, newId, HistorySummary.class);
+        remove(legacyId, HistorySummary.class);
+    }
+
+    private <T> void insertIfAbsent(T document, BigInteger newId, Class<T> entityClass) {
+        if (!mongoTemplate.exists(Query.query(Criteria.where("_id").is(newId)), entityClass)) {
+            mongoTemplate.insert(document);
+        }
+    }
+
+    private void remove(BigInteger legacyId, Class<?> entityClass) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(legacyId)), entityClass);
+    }
+
+    private void migrateHistory(BigInteger legacyId, BigInteger newId) {
+        mongoTemplate.updateMulti(Query.query(Criteria.where("applicationId").is(legacyId)), Update.update("applicationId", newId), History.class);
+    }
+
+    private BigInteger assignedId(BigInteger legacyId) {
+        Query mappingQuery = mappingQuery(legacyId);
+        Document mapping = mongoTemplate.findOne(mappingQuery, Document.class, MIGRATION_COLLECTION);
+        if (mapping == null) {
+            mapping = mongoTemplate.findAndModify(mappingQuery, new Update().setOnInsert("newId", idGenerator.nextId(Application.class).toString()),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, MIGRATION_COLLECTION);
+        }
+        return new BigInteger(mapping.getString("newId"));
+    }
+
+    private Query mappingQuery(BigInteger legacyId) {
+        return Query.query(Criteria.where("_id").is(new ObjectId(String.format("%024x", legacyId))));
+    }
+
+    private static boolean isObjectId(BigInteger id) {
+        return id.bitLength() >= Long.SIZE && id.bitLength() <= OBJECT_ID_BITS;
+    }
+}
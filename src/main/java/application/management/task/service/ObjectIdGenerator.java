@@ -0,0 +1,13 @@
+package application.management.task.service;
+
+import org.bson.types.ObjectId;
+
+import java.math.BigInteger;
+
+public class ObjectIdGenerator implements IdGenerator {
+
+    @Override
+    public BigInteger nextId(Class<?> entityClass) {
+        return new BigInteger(new ObjectId().toHexString(), 16);
+    }
+}
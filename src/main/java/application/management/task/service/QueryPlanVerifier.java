@@ -0,0 +1,136 @@
+package application.management.task.service;
+
+import application.management.task.config.ExplainMode;
+import application.management.task.model.Application;
+import application.management.task.model.History;
+import application.management.task.model.State;
+import com.mongodb.MongoCommandException;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class QueryPlanVerifier {
+
+    private static final String COLLSCAN = "COLLSCAN";
+    private static final String PLAN_LOG = "Query plan for %s: %s";
+    private static final String COLLSCAN_LOG = "Query %s on %s runs as a COLLSCAN.";
+    private static final String UNSUPPORTED_LOG = "The server does not support explain, query plans are not verified.";
+    private static final int COMMAND_NOT_FOUND = 59;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${applications.mongo.explain:OFF}")
+    private ExplainMode explainMode;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        if (explainMode == ExplainMode.OFF) {
+            return;
+        }
+        List<String> collectionScans = verify();
+        if (!collectionScans.isEmpty() && explainMode == ExplainMode.FAIL) {
+            throw new IllegalStateException(String.join(" ", collectionScans));
+        }
+    }
+
+    public List<String> verify() {
+        List<String> collectionScans = new ArrayList<>();
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        for (QueryShape shape : queryShapes()) {
+            MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(shape.entityClass);
+            Document plan;
+            try {
+                plan = mongoTemplate.getCollection(mongoTemplate.getCollectionName(shape.entityClass))
+                        .find(queryMapper.getMappedObject(shape.query.getQueryObject(), entity))
+                        .sort(queryMapper.getMappedSort(shape.query.getSortObject(), entity)).explain();
+            } catch (MongoCommandException exception) {
+                if (exception.getErrorCode() != COMMAND_NOT_FOUND) {
+                    throw exception;
+                }
+                log.warn(UNSUPPORTED_LOG);
+                return collectionScans;
+            }
+            log.info(String.format(PLAN_LOG, shape.name, winningPlan(plan).toJson()));
+            if (containsCollectionScan(winningPlan(plan))) {
+                String message = String.format(COLLSCAN_LOG, shape.name, mongoTemplate.getCollectionName(shape.entityClass));
+                log.warn(message);
+                collectionScans.add(message);
+            }
+        }
+        return collectionScans;
+    }
+
+    private List<QueryShape> queryShapes() {
+        BigInteger id = BigInteger.ONE;
+        String cursor = ApplicationQueries.encodeCursor(id);
+        LocalDate date = LocalDate.now();
+        return List.of(
+                new QueryShape("getAllPages(name, state)", Application.class, ApplicationQueries.filterQuery("name", State.CREATED)),
+                new QueryShape("getAllPages(name)", Application.class, ApplicationQueries.filterQuery("name", null)),
+                new QueryShape("getAllPages(state)", Application.class, ApplicationQueries.filterQuery(null, State.CREATED)),
+                new QueryShape("getCursorPage(state)", Application.class, ApplicationQueries.cursorQuery(cursor, 10, null, State.CREATED)),
+                new QueryShape("getCursorPage()", Application.class, ApplicationQueries.cursorQuery(cursor, 10, null, null)),
+                new QueryShape("search(name)", Application.class, ApplicationQueries.searchQuery("name", null)),
+                new QueryShape("changeApplicationState", Application.class, ApplicationQueries.stateQuery(id, Collections.singletonList(State.CREATED))),
+                new QueryShape("updateApplication", Application.class, ApplicationQueries.updateQuery(id, 1L)),
+                new QueryShape("archivePublished", Application.class, ArchiveService.publishedBeforeQuery(date)),
+                new QueryShape("compactHistory", History.class, ArchiveService.historyBeforeQuery(date)),
+                new QueryShape("getHistoryOfApplication", History.class, Query.query(Criteria.where("applicationId").is(id))),
+                new QueryShape("countTransitionsPerDay", History.class, Query.query(StatisticsService.dateCriteria(date, null)))
+        );
+    }
+
+    private Document winningPlan(Document explain) {
+        Object queryPlanner = explain.get("queryPlanner");
+        if (queryPlanner instanceof Document && ((Document) queryPlanner).get("winningPlan") instanceof Document) {
+            return (Document) ((Document) queryPlanner).get("winningPlan");
+        }
+        return explain;
+    }
+
+    private boolean containsCollectionScan(Object node) {
+        if (node instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) node;
+            if (COLLSCAN.equals(map.get("stage"))) {
+                return true;
+            }
+            return map.values().stream().anyMatch(this::containsCollectionScan);
+        }
+        if (node instanceof List) {
+            return ((List<?>) node).stream().anyMatch(this::containsCollectionScan);
+        }
+        return false;
+    }
+
+    private static class QueryShape {
+
+        private final String name;
+        private final Class<?> entityClass;
+        private final Query query;
+
+        private QueryShape(String name, Class<?> entityClass, Query query) {
+            this.name = name;
+            this.entityClass = entityClass;
+            this.query = query;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package application.management.task.service;
+
+import application.management.task.error.ApplicationNotFoundException;
+import application.management.task.error.NoParameterException;
+import application.management.task.error.NoReasonException;
+import application.management.task.error.VersionConflictException;
+import application.management.task.error.WrongStateException;
+import application.management.task.model.Application;
+import application.management.task.model.CountMode;
+import application.management.task.model.CursorPage;
+import application.management.task.model.ErrorMessage;
+import application.management.task.model.History;
+import application.management.task.model.State;
+import application.management.task.repository.ReactiveApplicationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ReactiveApplicationService {
+
+    @Autowired
+    private ReactiveApplicationRepository applicationRepository;
+
+    @Autowired
+    private ReactiveHistoryService historyService;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    public Flux<Application> getAllApplications() {
+        return mongoTemplate.find(FieldProjection.apply(new Query(), Application.class, null), Application.class);
+    }
+
+    public Mono<Application> getApplicationById(BigInteger id) {
+        return mongoTemplate.findOne(FieldProjection.apply(Query.query(Criteria.where("_id").is(id)), Application.class, null), Application.class).switchIfEmpty(Mono.error(() -> new ApplicationNotFoundException(ErrorMessage.ENTITY_NOT_EXIST.format(id))));
+    }
+
+    public Mono<Application> addApplication(Application application) {
+        ApplicationService.asCreated(application);
+        if (ApplicationService.hasNameAndContent(application)){
+            return applicationRepository.save(application);
+        } else {
+            return Mono.error(new NoParameterException(ErrorMessage.NO_PARAMETER.message));
+        }
+    }
+
+    public Mono<Application> verifyApplication(BigInteger id) {
+        return changeApplicationState(id, State.CREATED, State.VERIFIED);
+    }
+
+    public Mono<Application> acceptApplication(BigInteger id) {
+        return changeApplicationState(id, State.VERIFIED, State.ACCEPTED);
+    }
+
+    public Mono<Application> publishApplication(BigInteger id) {
+        return changeApplicationState(id, State.ACCEPTED, State.PUBLISHED);
+    }
+
+    private Mono<Application> changeApplicationState(BigInteger id, State currentState, State expectedState) {
+        Query query = FieldProjection.apply(ApplicationQueries.stateQuery(id, Collections.singletonList(currentState)), Application.class, null);
+        Update update = Update.update("state", expectedState).set("stateChangedAt", LocalDate.now()).inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Application.class)
+                .switchIfEmpty(Mono.defer(() -> transitionFailure(id, ErrorMessage.WRONG_STATE.format(currentState))))
+                .flatMap(application -> historyService.addHistory(History.builder().date(LocalDate.now()).oldState(currentState).applicationId(application.getId()).build())
+                        .thenReturn(application));
+    }
+
+    public Mono<Application> deleteApplication(BigInteger id, History historyReason) {
+        return removeApplication(id, historyReason, Collections.singletonList(State.CREATED), State.DELETED);
+    }
+
+    public Mono<Application> rejectApplication(BigInteger id, History historyReason) {
+        return removeApplication(id, historyReason, Arrays.asList(State.VERIFIED, State.ACCEPTED), State.REJECTED);
+    }
+
+    private Mono<Application> removeApplication(BigInteger id, History historyReason, List<State> allowedStates, State finalState) {
+        if (historyReason.getResignReason() == null || historyReason.getResignReason().isBlank()) {
+            return getApplicationById(id).flatMap(current -> Mono.error(allowedStates.contains(current.getState())
+                    ? new NoReasonException(ErrorMessage.NO_REASON.message)
+                    : new WrongStateException(ErrorMessage.WRONG_STATE.format(allowedStates.size() == 1 ? allowedStates.get(0) : allowedStates))));
+        }
+        Query query = FieldProjection.apply(ApplicationQueries.stateQuery(id, allowedStates), Application.class, null);
+        return (archiveService.isEnabled() ? archiveAndRemove(query, finalState, historyReason.getResignReason()) : mongoTemplate.findAndRemove(query, Application.class))
+                .switchIfEmpty(Mono.defer(() -> transitionFailure(id, ErrorMessage.WRONG_STATE.format(allowedStates.size() == 1 ? allowedStates.get(0) : allowedStates))))
+                .flatMap(application -> historyService.addHistory(History.builder().date(LocalDate.now()).oldState(finalState).applicationId(application.getId()).resignReason(historyReason.getResignReason()).build())
+                        .thenReturn(application));
+    }
+
+    private Mono<Application> archiveAndRemove(Query query, State finalState, String resignReason) {
+        return mongoTemplate.findAndModify(query, Update.update("state", finalState), Application.class)
+                .flatMap(application -> mongoTemplate.save(ArchiveService.archivedApplication(application, finalState, resignReason))
+                        .onErrorResume(exception -> mongoTemplate.updateFirst(ApplicationQueries.stateQuery(application.getId(), Collections.singletonList(finalState)),
+                                Update.update("state", application.getState()), Application.class).then(Mono.error(exception)))
+                        .then(mongoTemplate.remove(ApplicationQueries.stateQuery(application.getId(), Collections.singletonList(finalState)), Application.class))
+                        .thenReturn(application));
+    }
+
+    private Mono<Application> transitionFailure(BigInteger id, String wrongStateMessage) {
+        return applicationRepository.existsById(id).flatMap(exists -> Mono.error(exists
+                ? new WrongStateException(wrongStateMessage)
+                : new ApplicationNotFoundException(ErrorMessage.ENTITY_NOT_EXIST.format(id))));
+    }
+
+    public Mono<Application> updateApplication(Application application){
+        Query query = FieldProjection.apply(ApplicationQueries.updateQuery(application.getId(), application.getVersion()), Application.class, null);
+        return mongoTemplate.findAndModify(query, ApplicationQueries.contentUpdate(application), FindAndModifyOptions.options().returnNew(true), Application.class)
+                .switchIfEmpty(Mono.defer(() -> getApplicationById(application.getId()).flatMap(current -> Mono.error(
+                        current.getState().equals(State.CREATED) || current.getState().equals(State.VERIFIED)
+                                ? new VersionConflictException(ErrorMessage.VERSION_CONFLICT.format(application.getId(), application.getVersion()))
+                                : new WrongStateException(ErrorMessage.WRONG_STATE.format(Arrays.asList(State.CREATED, State.VERIFIED)))))));
+    }
+
+    public Mono<Page<Application>> getAllPages(Pageable pageable, String name, State state){
+        Query query = ApplicationQueries.filterQuery(name, state);
+        return mongoTemplate.find(FieldProjection.apply(Query.of(query), Application.class, null).with(pageable), Application.class).collectList()
+                .zipWith(mongoTemplate.count(query, Application.class))
+                .map(page -> new PageImpl<>(page.getT1(), pageable, page.getT2()));
+    }
+
+    public Mono<CursorPage<Application>> getCursorPage(String cursor, int pageSize, String name, State state, CountMode countMode){
+        final int size = Math.max(pageSize, 1);
+        return Mono.defer(() -> mongoTemplate.find(FieldProjection.apply(ApplicationQueries.cursorQuery(cursor, size, name, state), Application.class, null), Application.class).collectList())
+                .zipWith(countApplications(ApplicationQueries.filterQuery(name, state), countMode))
+                .map(page -> ApplicationQueries.cursorPage(page.getT1(), size, page.getT2().orElse(null)));
+    }
+
+    private Mono<Optional<Long>> countApplications(Query query, CountMode countMode){
+        switch (countMode) {
+            case EXACT:
+                return mongoTemplate.count(query, Application.class).map(Optional::of);
+            case ESTIMATED:
+                return mongoTemplate.estimatedCount(Application.class).map(Optional::of);
+            default:
+                return Mono.just(Optional.empty());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package application.management.task.service;
+
+import application.management.task.model.History;
+import application.management.task.repository.ReactiveHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+
+@Service
+public class ReactiveHistoryService {
+
+    @Autowired
+    private ReactiveHistoryRepository historyRepository;
+
+    public Mono<History> addHistory(History history){
+        return historyRepository.save(history);
+    }
+
+    public Flux<History> getAllHistory(){
+        return historyRepository.findAll();
+    }
+
+    public Mono<History> getHistoryById(BigInteger id){
+        return historyRepository.findById(id);
+    }
+
+    public Flux<History> getHistoryOfApplication(BigInteger applicationId){
+        return historyRepository.findAllByApplicationId(applicationId);
+    }
+}
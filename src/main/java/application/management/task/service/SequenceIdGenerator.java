@@ -0,0 +1,52 @@
+package application.management.task.service;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SequenceIdGenerator implements IdGenerator {
+
+    public static final String SEQUENCE_COLLECTION = "sequence";
+
+    private final MongoTemplate mongoTemplate;
+    private final long blockSize;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public SequenceIdGenerator(MongoTemplate mongoTemplate, long blockSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public BigInteger nextId(Class<?> entityClass) {
+        return BigInteger.valueOf(blocks.computeIfAbsent(mongoTemplate.getCollectionName(entityClass), Block::new).next());
+    }
+
+    private class Block {
+
+        private final String sequence;
+        private long next = 1;
+        private long last = 0;
+
+        private Block(String sequence) {
+            this.sequence = sequence;
+        }
+
+        private synchronized long next() {
+            if (next > last) {
+                Document reserved = mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(sequence)), new Update().inc("value", blockSize),
+                        FindAndModifyOptions.options().returnNew(true).upsert(true), Document.class, SEQUENCE_COLLECTION);
+                last = ((Number) reserved.get("value")).longValue();
+                next = last - blockSize + 1;
+            }
+            return next++;
+        }
+    }
+}
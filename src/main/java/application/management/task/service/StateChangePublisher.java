@@ -0,0 +1,33 @@
+package application.management.task.service;
+
+import application.management.task.config.EventSource;
+import application.management.task.model.EventType;
+import application.management.task.model.State;
+import application.management.task.model.StateChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+
+/**
+ * Publishes state changes made by this instance to the in-process event bus. With the change stream source every
+ * change is read back from the database instead, so nothing is published here.
+ */
+@Component
+public class StateChangePublisher {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${applications.events.source:BUS}")
+    private EventSource eventSource;
+
+    public void publish(EventType type, BigInteger id, State previousState, State state) {
+        if (eventSource == EventSource.BUS) {
+            eventPublisher.publishEvent(StateChangeEvent.builder().type(type).applicationId(id).previousState(previousState).state(state).time(LocalDateTime.now()).build());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package application.management.task.service;
+
+import application.management.task.model.State;
+import application.management.task.model.StateCount;
+import application.management.task.model.StateCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class StateCounterService {
+
+    private static final String RECONCILE_LOG = "State counters reconciled to %s, corrections: %s";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    public void increment(State state, long delta) {
+        mongoTemplate.upsert(counterQuery(state), new Update().inc("count", delta), StateCounter.class);
+    }
+
+    public void transition(State from, State to, long count) {
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StateCounter.class)
+                .upsert(counterQuery(from), new Update().inc("count", -count))
+                .upsert(counterQuery(to), new Update().inc("count", count))
+                .execute();
+    }
+
+    public List<StateCount> getStateCounts() {
+        List<StateCount> stateCounts = new ArrayList<>();
+        readCounters().forEach((state, count) -> stateCounts.add(new StateCount(state, count)));
+        return stateCounts;
+    }
+
+    /**
+     * Corrects each counter by an {@code $inc} of the aggregated count minus the counter, so increments that land
+     * while the correction is written are kept. A counter that changes while the collection is aggregated is left
+     * for the next run, since the aggregate may or may not include that change. A transition whose document update
+     * is aggregated but whose counter update lands after the second read can still be off by its count until then.
+     */
+    @Scheduled(initialDelayString = "${applications.counters.reconcile-delay:0}", fixedDelayString = "${applications.counters.reconcile-interval:300000}")
+    public void reconcile() {
+        Map<State, Long> before = readCounters();
+        Map<State, Long> counts = new EnumMap<>(State.class);
+        for (State state : State.values()) {
+            counts.put(state, 0L);
+        }
+        statisticsService.countByState().forEach(stateCount -> counts.put(stateCount.getState(), stateCount.getCount()));
+        Map<State, Long> after = readCounters();
+
+        Map<State, Long> corrections = new EnumMap<>(State.class);
+        counts.forEach((state, count) -> {
+            if (before.get(state).equals(after.get(state)) && count - after.get(state) != 0) {
+                corrections.put(state, count - after.get(state));
+            }
+        });
+        if (!corrections.isEmpty()) {
+            BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StateCounter.class);
+            corrections.forEach((state, delta) -> bulkOperations.upsert(counterQuery(state), new Update().inc("count", delta)));
+            bulkOperations.execute();
+        }
+        log.info(String.format(RECONCILE_LOG, counts, corrections));
+    }
+
+    private Map<State, Long> readCounters() {
+        Map<State, Long> counters = new EnumMap<>(State.class);
+        for (State state : State.values()) {
+            counters.put(state, 0L);
+        }
+        mongoTemplate.findAll(StateCounter.class).forEach(counter -> counters.put(counter.getState(), counter.getCount()));
+        return counters;
+    }
+
+    private Query counterQuery(State state) {
+        return Query.query(Criteria.where("_id").is(state));
+    }
+}
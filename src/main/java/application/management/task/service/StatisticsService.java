@@ -0,0 +1,171 @@
+package application.management.task.service;
+
+import application.management.task.model.Application;
+import application.management.task.model.ApplicationStatistics;
+import application.management.task.model.DailyTransitions;
+import application.management.task.model.History;
+import application.management.task.model.ReasonCount;
+import application.management.task.model.State;
+import application.management.task.model.StateCount;
+import application.management.task.model.StateDuration;
+import com.mongodb.MongoCommandException;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class StatisticsService {
+
+    private static final double MILLIS_PER_DAY = 24 * 60 * 60 * 1000;
+    private static final int UNRECOGNIZED_STAGE = 40324;
+    private static final String NO_WINDOW_FIELDS_LOG = "The server does not support $setWindowFields, time in state is computed from a history scan.";
+    private static final Map<State, State> NEXT_STATE = new EnumMap<>(Map.of(
+            State.CREATED, State.VERIFIED,
+            State.VERIFIED, State.ACCEPTED,
+            State.ACCEPTED, State.PUBLISHED));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private volatile boolean windowFields = true;
+
+    public ApplicationStatistics getStatistics(LocalDate from, LocalDate to) {
+        return ApplicationStatistics.builder()
+                .states(countByState())
+                .transitionsPerDay(countTransitionsPerDay(from, to))
+                .resignReasons(countResignReasons())
+                .averageTimeInState(averageTimeInState())
+                .build();
+    }
+
+    public List<StateCount> countByState() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group("state").count().as("count"),
+                Aggregation.project("count").and("state").previousOperation(),
+                Aggregation.sort(Sort.Direction.ASC, "state"));
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(Application.class), StateCount.class).getMappedResults();
+    }
+
+    public List<DailyTransitions> countTransitionsPerDay(LocalDate from, LocalDate to) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(dateCriteria(from, to)),
+                Aggregation.group("date").count().as("count"),
+                Aggregation.project("count").and("date").previousOperation(),
+                Aggregation.sort(Sort.Direction.ASC, "date"));
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(History.class), DailyTransitions.class).getMappedResults();
+    }
+
+    static Criteria dateCriteria(LocalDate from, LocalDate to) {
+        Criteria dateCriteria = Criteria.where("date").ne(null);
+        if (from != null)
+            dateCriteria.gte(from);
+        if (to != null)
+            dateCriteria.lte(to);
+        return dateCriteria;
+    }
+
+    public List<ReasonCount> countResignReasons() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("resignReason").ne(null)),
+                Aggregation.group("oldState", "resignReason").count().as("count"),
+                Aggregation.project("count").and("_id.oldState").as("state").and("_id.resignReason").as("reason"),
+                Aggregation.sort(Sort.Direction.DESC, "count"));
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(History.class), ReasonCount.class).getMappedResults();
+    }
+
+    public List<StateDuration> averageTimeInState() {
+        if (windowFields) {
+            try {
+                return averageTimeInStateByWindow();
+            } catch (DataAccessException exception) {
+                if (!(exception.getMostSpecificCause() instanceof MongoCommandException)
+                        || ((MongoCommandException) exception.getMostSpecificCause()).getErrorCode() != UNRECOGNIZED_STAGE) {
+                    throw exception;
+                }
+                windowFields = false;
+                log.warn(NO_WINDOW_FIELDS_LOG);
+            }
+        }
+        return averageTimeInStateByScan();
+    }
+
+    private List<StateDuration> averageTimeInStateByWindow() {
+        List<Document> branches = new ArrayList<>();
+        NEXT_STATE.forEach((state, next) -> branches.add(new Document("case", new Document("$eq", List.of("$previous.oldState", state.name()))).append("then", next.name())));
+        AggregationOperation previousEntry = context -> new Document("$setWindowFields", new Document("partitionBy", "$applicationId")
+                .append("sortBy", new Document("date", 1).append("_id", 1))
+                .append("output", new Document("previous", new Document("$shift", new Document("output", new Document("date", "$date").append("oldState", "$oldState")).append("by", -1)))));
+        AggregationOperation stateDuration = context -> new Document("$project", new Document("state", new Document("$switch", new Document("branches", branches).append("default", null)))
+                .append("duration", new Document("$subtract", List.of("$date", "$previous.date"))));
+        AggregationOperation averageDuration = context -> new Document("$group", new Document("_id", "$state")
+                .append("averageDuration", new Document("$avg", "$duration"))
+                .append("samples", new Document("$sum", 1)));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("date").ne(null)),
+                previousEntry,
+                Aggregation.match(Criteria.where("previous").ne(null)),
+                stateDuration,
+                Aggregation.match(Criteria.where("state").ne(null)),
+                averageDuration,
+                Aggregation.sort(Sort.Direction.ASC, "_id"));
+
+        List<StateDuration> durations = new ArrayList<>();
+        for (Document result : mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(History.class), Document.class)) {
+            durations.add(StateDuration.builder()
+                    .state(State.valueOf(result.getString("_id")))
+                    .averageDays(((Number) result.get("averageDuration")).doubleValue() / MILLIS_PER_DAY)
+                    .samples(((Number) result.get("samples")).longValue())
+                    .build());
+        }
+        return durations;
+    }
+
+    /**
+     * Same result as the window pipeline, for servers without {@code $setWindowFields}: streams the history ordered
+     * by application and date and pairs every entry with the one before it.
+     */
+    private List<StateDuration> averageTimeInStateByScan() {
+        Query query = Query.query(Criteria.where("date").ne(null)).with(Sort.by("applicationId", "date", "_id"));
+        query.fields().include("applicationId", "date", "oldState");
+        Map<State, long[]> totals = new EnumMap<>(State.class);
+        History previous = null;
+        try (CloseableIterator<History> histories = mongoTemplate.stream(query, History.class)) {
+            while (histories.hasNext()) {
+                History history = histories.next();
+                if (previous != null && previous.getApplicationId().equals(history.getApplicationId()) && NEXT_STATE.containsKey(previous.getOldState())) {
+                    long[] total = totals.computeIfAbsent(NEXT_STATE.get(previous.getOldState()), state -> new long[2]);
+                    total[0] += ChronoUnit.DAYS.between(previous.getDate(), history.getDate());
+                    total[1]++;
+                }
+                previous = history;
+            }
+        }
+        List<StateDuration> durations = new ArrayList<>();
+        totals.forEach((state, total) -> durations.add(StateDuration.builder()
+                .state(state)
+                .averageDays((double) total[0] / total[1])
+                .samples(total[1])
+                .build()));
+        durations.sort(Comparator.comparing(duration -> duration.getState().name()));
+        return durations;
+    }
+}
@@ -1,24 +1,38 @@
 package application.management.task.web;
 
 import application.management.task.model.Application;
+import application.management.task.model.BulkRequest;
+import application.management.task.model.BulkResult;
+import application.management.task.model.CountMode;
+import application.management.task.model.CursorPage;
 import application.management.task.model.History;
+import application.management.task.model.ImportResult;
 import application.management.task.model.State;
+import application.management.task.service.ApplicationImportService;
 import application.management.task.service.ApplicationService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigInteger;
 import java.util.List;
 
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ApplicationController {
 
     private static final String NEW_ORDER_LOG = "New order created {%s}.";
@@ -28,23 +42,41 @@ public class ApplicationController {
     private static final String PUBLISHED_LOG = "Order with id=[%s] published";
     private static final String DELETED_LOG = "Order deleted {%s}";
     private static final String REJECTED_LOG = "Order rejected {%s}";
+    private static final String BULK_LOG = "Orders %s: changed=%d, notFound=%d, wrongState=%d";
+    private static final String IMPORT_LOG = "Orders imported: imported=%d, failed=%d";
+    private static final String TEXT_CSV_VALUE = "text/csv";
     private ApplicationService applicationService;
+    private ApplicationImportService applicationImportService;
+    private NdjsonWriter ndjsonWriter;
 
     @Autowired
-    public ApplicationController(ApplicationService applicationService) {
+    public ApplicationController(ApplicationService applicationService, ApplicationImportService applicationImportService, NdjsonWriter ndjsonWriter) {
         this.applicationService = applicationService;
+        this.applicationImportService = applicationImportService;
+        this.ndjsonWriter = ndjsonWriter;
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<Application>> getAllApplications(){
-        List<Application> allApplications = applicationService.getAllApplications();
+    public ResponseEntity<List<Application>> getAllApplications(@RequestParam(required = false) List<String> fields){
+        List<Application> allApplications = applicationService.getAllApplications(fields);
         return ResponseEntity.ok(allApplications);
     }
 
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllApplications(@RequestParam(required = false) List<String> fields){
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(ndjsonWriter.write(applicationService.streamAllApplications(fields)));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Application> getApplication(@PathVariable BigInteger id){
+    public ResponseEntity<Application> getApplication(@PathVariable BigInteger id, @RequestParam(defaultValue = "false") boolean withHistory, WebRequest request){
+        if (withHistory) {
+            return ResponseEntity.ok(applicationService.getApplicationWithHistory(id));
+        }
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && request.checkNotModified(ETags.of(applicationService.getApplicationVersion(id)))) {
+            return null;
+        }
         Application application = applicationService.getApplicationById(id);
-        return ResponseEntity.ok(application);
+        return ResponseEntity.ok().eTag(ETags.of(application)).body(application);
     }
 
     @PostMapping("/add")
@@ -54,6 +86,21 @@ public class ApplicationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdApplication);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResult> importNdjson(InputStream body) throws IOException {
+        return importResponse(applicationImportService.importNdjson(body));
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ImportResult> importCsv(InputStream body) throws IOException {
+        return importResponse(applicationImportService.importCsv(body));
+    }
+
+    private ResponseEntity<ImportResult> importResponse(ImportResult result){
+        log.info(String.format(IMPORT_LOG, result.getImported(), result.getErrors().size()));
+        return ResponseEntity.ok(result);
+    }
+
     @PatchMapping("/verify/{id}")
     public ResponseEntity<Application> verifyApplication(@PathVariable BigInteger id){
         Application verifiedApplication = applicationService.verifyApplication(id);
@@ -89,18 +136,68 @@ public class ApplicationController {
         return ResponseEntity.ok(rejectedApplication);
     }
 
+    @PatchMapping("/verify")
+    public ResponseEntity<BulkResult> verifyApplications(@RequestBody BulkRequest request){
+        return bulkResponse("verified", applicationService.verifyApplications(request));
+    }
+
+    @PatchMapping("/accept")
+    public ResponseEntity<BulkResult> acceptApplications(@RequestBody BulkRequest request){
+        return bulkResponse("accepted", applicationService.acceptApplications(request));
+    }
+
+    @PatchMapping("/publish")
+    public ResponseEntity<BulkResult> publishApplications(@RequestBody BulkRequest request){
+        return bulkResponse("published", applicationService.publishApplications(request));
+    }
+
+    @DeleteMapping("/delete")
+    public ResponseEntity<BulkResult> deleteApplications(@RequestBody BulkRequest request){
+        return bulkResponse("deleted", applicationService.deleteApplications(request));
+    }
+
+    @DeleteMapping("/reject")
+    public ResponseEntity<BulkResult> rejectApplications(@RequestBody BulkRequest request){
+        return bulkResponse("rejected", applicationService.rejectApplications(request));
+    }
+
+    private ResponseEntity<BulkResult> bulkResponse(String action, BulkResult result){
+        log.info(String.format(BULK_LOG, action, result.getChanged().size(), result.getNotFound().size(), result.getWrongState().size()));
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/update")
-    public ResponseEntity<Application> updateApplication(@Valid @RequestBody Application application){
+    public ResponseEntity<Application> updateApplication(@Valid @RequestBody Application application,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        if (ifMatch != null) {
+            application.setVersion(ETags.version(ifMatch, application.getId()));
+        }
         Application updatedApplication = applicationService.updateApplication(application);
         log.info(String.format(UPDATED_LOG, updatedApplication.toString()));
-        return ResponseEntity.ok(updatedApplication);
+        return ResponseEntity.ok().eTag(ETags.of(updatedApplication)).body(updatedApplication);
     }
 
     @GetMapping("/get")
     public ResponseEntity<Page<Application>> getAllPages(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size,
-                                                         @RequestParam(required = false) String name, @RequestParam(required = false) State state) {
+                                                         @RequestParam(required = false) String name, @RequestParam(required = false) State state,
+                                                         @RequestParam(required = false) List<String> fields) {
         Pageable pageable = PageRequest.of(page != null ? page : 0, size != null ? size : 10);
-        Page<Application> applicationPages = applicationService.getAllPages(pageable, name, state);
+        Page<Application> applicationPages = applicationService.getAllPages(pageable, name, state, fields);
         return ResponseEntity.ok(applicationPages);
     }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<Application>> search(@RequestParam(required = false) String name, @RequestParam(required = false) String text,
+                                                    @RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size) {
+        Pageable pageable = PageRequest.of(page != null ? page : 0, size != null ? size : 10);
+        return ResponseEntity.ok(applicationService.search(pageable, name, text));
+    }
+
+    @GetMapping(value = "/get", params = "cursor")
+    public ResponseEntity<CursorPage<Application>> getCursorPage(@RequestParam String cursor, @RequestParam(required = false) Integer size,
+                                                                 @RequestParam(required = false) String name, @RequestParam(required = false) State state,
+                                                                 @RequestParam(required = false) CountMode count, @RequestParam(required = false) List<String> fields) {
+        CursorPage<Application> applicationPage = applicationService.getCursorPage(cursor, size != null ? size : 10, name, state, count != null ? count : CountMode.NONE, fields);
+        return ResponseEntity.ok(applicationPage);
+    }
 }
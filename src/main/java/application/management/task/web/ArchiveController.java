@@ -0,0 +1,36 @@
+package application.management.task.web;
+
+import application.management.task.model.ArchivedApplication;
+import application.management.task.model.HistorySummary;
+import application.management.task.service.ArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigInteger;
+
+@RestController
+@RequestMapping("/archive")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ArchiveController {
+
+    private ArchiveService archiveService;
+
+    @Autowired
+    public ArchiveController(ArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    @GetMapping("/{id}")
+    public ArchivedApplication getArchivedApplication(@PathVariable BigInteger id){
+        return archiveService.getArchivedApplication(id);
+    }
+
+    @GetMapping("/history/{id}")
+    public HistorySummary getHistorySummary(@PathVariable BigInteger id){
+        return archiveService.getHistorySummary(id);
+    }
+}
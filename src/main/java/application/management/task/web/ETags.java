@@ -0,0 +1,47 @@
+package application.management.task.web;
+
+import application.management.task.error.VersionConflictException;
+import application.management.task.model.Application;
+import application.management.task.model.ErrorMessage;
+import application.management.task.model.HistoryMarker;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+
+final class ETags {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {
+    }
+
+    static String of(Application application) {
+        return of(application.getVersion() != null ? application.getVersion() : 0L);
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(HistoryMarker marker) {
+        return "\"" + marker.getCount() + "-" + epochDay(marker.getFirst()) + "-" + epochDay(marker.getLast()) + "\"";
+    }
+
+    private static long epochDay(LocalDate date) {
+        return date != null ? date.toEpochDay() : 0L;
+    }
+
+    static Long version(String ifMatch, BigInteger id) {
+        String tag = ifMatch.trim();
+        if (ANY.equals(tag))
+            return null;
+        if (tag.startsWith(WEAK_PREFIX))
+            tag = tag.substring(WEAK_PREFIX.length());
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException exception) {
+            throw new VersionConflictException(ErrorMessage.VERSION_CONFLICT.format(id, ifMatch));
+        }
+    }
+}
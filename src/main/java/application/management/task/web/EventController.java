@@ -0,0 +1,30 @@
+package application.management.task.web;
+
+import application.management.task.model.State;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class EventController {
+
+    private EventFeed eventFeed;
+
+    @Autowired
+    public EventController(EventFeed eventFeed) {
+        this.eventFeed = eventFeed;
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId, @RequestParam(required = false) List<State> state){
+        return eventFeed.subscribe(lastEventId, state);
+    }
+}
@@ -0,0 +1,175 @@
+package application.management.task.web;
+
+import application.management.task.model.State;
+import application.management.task.model.StateChangeEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class EventFeed {
+
+    private static final String EVENT_NAME = "application";
+    private static final String ID_SEPARATOR = "-";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final int bufferSize;
+    private final Deque<StateChangeEvent> buffer = new ArrayDeque<>();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicInteger threads = new AtomicInteger();
+    private final ExecutorService dispatcher = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "event-feed-" + threads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long sequence;
+
+    public EventFeed(@Value("${applications.events.buffer-size:10000}") int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Numbers the event and hands it to every subscription under the buffer lock, so each subscription sees events in
+     * sequence order. Only the hand-off happens here; sending is done by the subscription's own drain task.
+     */
+    @EventListener
+    public void onStateChange(StateChangeEvent event) {
+        synchronized (buffer) {
+            event.setSequence(++sequence);
+            buffer.addLast(event);
+            if (buffer.size() > bufferSize) {
+                buffer.removeFirst();
+            }
+            subscriptions.forEach(subscription -> subscription.enqueue(event));
+        }
+    }
+
+    public SseEmitter subscribe(String lastEventId, Collection<State> states) {
+        SseEmitter emitter = new SseEmitter();
+        Subscription subscription;
+        synchronized (buffer) {
+            subscription = new Subscription(emitter, states == null || states.isEmpty() ? null : Set.copyOf(states),
+                    lastEventId != null ? resumeSequence(lastEventId) : sequence);
+            buffer.forEach(subscription::enqueue);
+            subscriptions.add(subscription);
+        }
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(error -> subscriptions.remove(subscription));
+        return emitter;
+    }
+
+    private long resumeSequence(String lastEventId) {
+        int separator = lastEventId.lastIndexOf(ID_SEPARATOR);
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException exception) {
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        dispatcher.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        subscriptions.clear();
+    }
+
+    /**
+     * Events waiting for one client. A client that falls more than the buffer size behind is disconnected and can
+     * resume from the buffer with its Last-Event-ID, so a slow client never holds up the others or the publisher.
+     */
+    private class Subscription {
+
+        private final SseEmitter emitter;
+        private final Set<State> states;
+        private final Deque<StateChangeEvent> pending = new ArrayDeque<>();
+        private long lastSequence;
+        private boolean draining;
+        private boolean closed;
+
+        private Subscription(SseEmitter emitter, Set<State> states, long lastSequence) {
+            this.emitter = emitter;
+            this.states = states;
+            this.lastSequence = lastSequence;
+        }
+
+        private void enqueue(StateChangeEvent event) {
+            if (event.getSequence() <= lastSequence || (states != null && !states.contains(event.getState()))) {
+                return;
+            }
+            lastSequence = event.getSequence();
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (pending.size() >= bufferSize) {
+                    closed = true;
+                    pending.clear();
+                    subscriptions.remove(this);
+                } else {
+                    pending.addLast(event);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException exception) {
+                // the feed is shutting down and completes every emitter itself
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                StateChangeEvent event;
+                synchronized (this) {
+                    event = pending.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                    }
+                }
+                if (event == null) {
+                    if (closed) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                try {
+                    emitter.send(SseEmitter.event().id(epoch + ID_SEPARATOR + event.getSequence()).name(EVENT_NAME).data(event, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException exception) {
+                    synchronized (this) {
+                        closed = true;
+                        pending.clear();
+                        draining = false;
+                    }
+                    subscriptions.remove(this);
+                    emitter.completeWithError(exception);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,25 +1,36 @@
 package application.management.task.web;
 
 import application.management.task.model.History;
+import application.management.task.model.HistoryMarker;
 import application.management.task.service.HistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigInteger;
 import java.util.List;
 
 @RestController
 @RequestMapping("/history")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class HistoryController {
 
     private HistoryService historyService;
+    private NdjsonWriter ndjsonWriter;
 
     @Autowired
-    public HistoryController(HistoryService historyService) {
+    public HistoryController(HistoryService historyService, NdjsonWriter ndjsonWriter) {
         this.historyService = historyService;
+        this.ndjsonWriter = ndjsonWriter;
     }
 
     @GetMapping("/{id}")
@@ -28,12 +39,21 @@ public class HistoryController {
     }
 
     @GetMapping("/application/{id}")
-    public List<History> getHistoryOfApplication(@PathVariable BigInteger id){
-        return historyService.getHistoryOfApplication(id);
+    public ResponseEntity<List<History>> getHistoryOfApplication(@PathVariable BigInteger id, WebRequest request){
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && request.checkNotModified(ETags.of(historyService.getHistoryMarker(id)))) {
+            return null;
+        }
+        List<History> histories = historyService.getHistoryOfApplication(id);
+        return ResponseEntity.ok().eTag(ETags.of(HistoryMarker.of(histories))).body(histories);
     }
 
     @GetMapping("/all")
-    public List<History> getAll(){
-        return historyService.getAllHistory();
+    public List<History> getAll(@RequestParam(required = false) List<String> fields){
+        return historyService.getAllHistory(fields);
+    }
+
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll(@RequestParam(required = false) List<String> fields){
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(ndjsonWriter.write(historyService.streamAllHistory(fields)));
     }
 }
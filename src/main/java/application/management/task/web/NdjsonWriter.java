@@ -0,0 +1,33 @@
+package application.management.task.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class NdjsonWriter {
+
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    public NdjsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public StreamingResponseBody write(CloseableIterator<?> documents) {
+        return output -> {
+            try (CloseableIterator<?> iterator = documents;
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+                while (iterator.hasNext()) {
+                    generator.writeObject(iterator.next());
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+    }
+}
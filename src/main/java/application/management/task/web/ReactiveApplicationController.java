@@ -0,0 +1,122 @@
+package application.management.task.web;
+
+import application.management.task.model.Application;
+import application.management.task.model.CountMode;
+import application.management.task.model.CursorPage;
+import application.management.task.model.History;
+import application.management.task.model.State;
+import application.management.task.service.ReactiveApplicationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.math.BigInteger;
+import java.util.List;
+
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveApplicationController {
+
+    private static final String NEW_ORDER_LOG = "New order created {%s}.";
+    private static final String UPDATED_LOG = "Order updated {%s}.";
+    private static final String VERIFIED_LOG = "Order with id=[%s] verified";
+    private static final String ACCEPTED_LOG = "Order with id=[%s] accepted";
+    private static final String PUBLISHED_LOG = "Order with id=[%s] published";
+    private static final String DELETED_LOG = "Order deleted {%s}";
+    private static final String REJECTED_LOG = "Order rejected {%s}";
+    private ReactiveApplicationService applicationService;
+
+    @Autowired
+    public ReactiveApplicationController(ReactiveApplicationService applicationService) {
+        this.applicationService = applicationService;
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<List<Application>>> getAllApplications(){
+        return applicationService.getAllApplications().collectList().map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Application> streamAllApplications(){
+        return applicationService.getAllApplications();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Application>> getApplication(@PathVariable BigInteger id){
+        return applicationService.getApplicationById(id).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/add")
+    public Mono<ResponseEntity<Application>> addApplication(@Valid @RequestBody Application application){
+        return applicationService.addApplication(application)
+                .doOnNext(createdApplication -> log.info(String.format(NEW_ORDER_LOG, createdApplication.toString())))
+                .map(createdApplication -> ResponseEntity.status(HttpStatus.CREATED).body(createdApplication));
+    }
+
+    @PatchMapping("/verify/{id}")
+    public Mono<ResponseEntity<Application>> verifyApplication(@PathVariable BigInteger id){
+        return applicationService.verifyApplication(id)
+                .doOnNext(verifiedApplication -> log.info(String.format(VERIFIED_LOG, verifiedApplication.getId().toString())))
+                .map(ResponseEntity::ok);
+    }
+
+    @PatchMapping("/accept/{id}")
+    public Mono<ResponseEntity<Application>> acceptApplication(@PathVariable BigInteger id){
+        return applicationService.acceptApplication(id)
+                .doOnNext(acceptedApplication -> log.info(String.format(ACCEPTED_LOG, acceptedApplication.getId().toString())))
+                .map(ResponseEntity::ok);
+    }
+
+    @PatchMapping("/publish/{id}")
+    public Mono<ResponseEntity<Application>> publishApplication(@PathVariable BigInteger id){
+        return applicationService.publishApplication(id)
+                .doOnNext(publishedApplication -> log.info(String.format(PUBLISHED_LOG, publishedApplication.getId().toString())))
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/delete/{id}")
+    public Mono<ResponseEntity<Application>> deleteApplication(@PathVariable BigInteger id, @Valid @RequestBody History history){
+        return applicationService.deleteApplication(id, history)
+                .doOnNext(deletedApplication -> log.info(String.format(DELETED_LOG, deletedApplication.toString())))
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/reject/{id}")
+    public Mono<ResponseEntity<Application>> rejectApplication(@PathVariable BigInteger id, @Valid @RequestBody History history){
+        return applicationService.rejectApplication(id, history)
+                .doOnNext(rejectedApplication -> log.info(String.format(REJECTED_LOG, rejectedApplication.toString())))
+                .map(ResponseEntity::ok);
+    }
+
+    @PutMapping("/update")
+    public Mono<ResponseEntity<Application>> updateApplication(@Valid @RequestBody Application application){
+        return applicationService.updateApplication(application)
+                .doOnNext(updatedApplication -> log.info(String.format(UPDATED_LOG, updatedApplication.toString())))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/get")
+    public Mono<ResponseEntity<Page<Application>>> getAllPages(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size,
+                                                               @RequestParam(required = false) String name, @RequestParam(required = false) State state) {
+        Pageable pageable = PageRequest.of(page != null ? page : 0, size != null ? size : 10);
+        return applicationService.getAllPages(pageable, name, state).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/get", params = "cursor")
+    public Mono<ResponseEntity<CursorPage<Application>>> getCursorPage(@RequestParam String cursor, @RequestParam(required = false) Integer size,
+                                                                       @RequestParam(required = false) String name, @RequestParam(required = false) State state,
+                                                                       @RequestParam(required = false) CountMode count) {
+        return applicationService.getCursorPage(cursor, size != null ? size : 10, name, state, count != null ? count : CountMode.NONE).map(ResponseEntity::ok);
+    }
+}
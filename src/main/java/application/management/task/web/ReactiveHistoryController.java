@@ -0,0 +1,49 @@
+package application.management.task.web;
+
+import application.management.task.model.History;
+import application.management.task.service.ReactiveHistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.util.List;
+
+@RestController
+@RequestMapping("/history")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveHistoryController {
+
+    private ReactiveHistoryService historyService;
+
+    @Autowired
+    public ReactiveHistoryController(ReactiveHistoryService historyService) {
+        this.historyService = historyService;
+    }
+
+    @GetMapping("/{id}")
+    public Mono<History> getHistory(@PathVariable BigInteger id){
+        return historyService.getHistoryById(id);
+    }
+
+    @GetMapping("/application/{id}")
+    public Mono<List<History>> getHistoryOfApplication(@PathVariable BigInteger id){
+        return historyService.getHistoryOfApplication(id).collectList();
+    }
+
+    @GetMapping("/all")
+    public Mono<List<History>> getAll(){
+        return historyService.getAllHistory().collectList();
+    }
+
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<History> streamAll(){
+        return historyService.getAllHistory();
+    }
+}
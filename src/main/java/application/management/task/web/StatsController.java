@@ -0,0 +1,49 @@
+package application.management.task.web;
+
+import application.management.task.model.ApplicationStatistics;
+import application.management.task.model.CacheStatistics;
+import application.management.task.model.StateCount;
+import application.management.task.service.CacheStatisticsService;
+import application.management.task.service.StateCounterService;
+import application.management.task.service.StatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/stats")
+public class StatsController {
+
+    private CacheStatisticsService cacheStatisticsService;
+    private StatisticsService statisticsService;
+    private StateCounterService stateCounterService;
+
+    @Autowired
+    public StatsController(CacheStatisticsService cacheStatisticsService, StatisticsService statisticsService, StateCounterService stateCounterService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.statisticsService = statisticsService;
+        this.stateCounterService = stateCounterService;
+    }
+
+    @GetMapping("/states")
+    public List<StateCount> getStateCounts(){
+        return stateCounterService.getStateCounts();
+    }
+
+    @GetMapping("/applications")
+    public ApplicationStatistics getApplicationStatistics(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        return statisticsService.getStatistics(from, to);
+    }
+
+    @GetMapping("/cache")
+    public List<CacheStatistics> getCacheStatistics(){
+        return cacheStatisticsService.getCacheStatistics();
+    }
+}
@@ -1,29 +1,45 @@
 package application.management.task.service;
 
 import application.management.task.error.ApplicationNotFoundException;
+import application.management.task.error.InvalidCursorException;
 import application.management.task.error.NoParameterException;
+import application.management.task.error.VersionConflictException;
 import application.management.task.error.NoReasonException;
 import application.management.task.error.WrongStateException;
 import application.management.task.model.Application;
+import application.management.task.model.BulkRequest;
+import application.management.task.model.BulkResult;
+import application.management.task.model.CountMode;
+import application.management.task.model.CursorPage;
 import application.management.task.model.ErrorMessage;
 import application.management.task.model.History;
 import application.management.task.model.State;
 import application.management.task.repository.ApplicationRepository;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 
 import java.math.BigInteger;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -35,6 +51,9 @@ class ApplicationServiceTest {
     @Autowired
     private ApplicationRepository applicationRepository;
 
+    @SpyBean
+    private MongoTemplate mongoTemplate;
+
     @BeforeEach
     void setUp() {
         applicationRepository.deleteAll();
@@ -66,6 +85,14 @@ class ApplicationServiceTest {
         assertEquals(savedApplication.getContent(), application.getContent());
     }
 
+    @Test
+    public void when_default_id_strategy_then_client_ids_keep_their_stored_form() {
+        Document stored = mongoTemplate.findOne(Query.query(Criteria.where("_id").is(BigInteger.valueOf(12345))), Document.class, mongoTemplate.getCollectionName(Application.class));
+
+        assertEquals("12345", stored.get("_id"));
+        assertEquals("name", applicationService.getApplicationById(BigInteger.valueOf(12345)).getName());
+    }
+
     @Test
     public void when_save_application_should_have_created_status() {
         Application application = Application.builder().name("name").content("content").build();
@@ -167,6 +194,50 @@ class ApplicationServiceTest {
         assertEquals(4, pages.getTotalElements());
     }
 
+    @Test
+    public void when_update_application_changes_fields_and_version(){
+        Application updated = applicationService.updateApplication(Application.builder().id(BigInteger.valueOf(12345)).name("Renamed").version(0L).build());
+
+        assertEquals("Renamed", updated.getName());
+        assertEquals("content", updated.getContent());
+        assertEquals(1L, updated.getVersion());
+        assertEquals(1, applicationService.search(PageRequest.of(0, 10), "ren", null).getTotalElements());
+    }
+
+    @Test
+    public void when_update_application_with_stale_version_throws_exception(){
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+
+        Throwable exception = assertThrows(VersionConflictException.class,
+                () -> applicationService.updateApplication(Application.builder().id(BigInteger.valueOf(12345)).name("Renamed").version(0L).build()));
+        assertEquals(String.format(ErrorMessage.VERSION_CONFLICT.message, "12345", 0), exception.getMessage());
+        assertEquals("Renamed", applicationService.updateApplication(Application.builder().id(BigInteger.valueOf(12345)).name("Renamed").version(1L).build()).getName());
+    }
+
+    @Test
+    public void when_update_application_in_wrong_state_throws_exception(){
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+        applicationService.acceptApplication(BigInteger.valueOf(12345));
+
+        assertThrows(WrongStateException.class, () -> applicationService.updateApplication(Application.builder().id(BigInteger.valueOf(12345)).name("Renamed").build()));
+    }
+
+    @Test
+    public void when_search_by_name_prefix_ignores_case(){
+        Pageable pageable = PageRequest.of(0, 2);
+        Page<Application> pages = applicationService.search(pageable, "NAMET", null);
+        assertEquals(1, pages.getTotalElements());
+        assertEquals("nameThird", pages.getContent().get(0).getName());
+        assertEquals(4, applicationService.search(pageable, "Na", null).getTotalElements());
+        assertEquals(0, applicationService.search(pageable, "na.", null).getTotalElements());
+    }
+
+    @Test
+    public void when_search_without_name_and_text_throws_exception(){
+        Throwable exception = assertThrows(NoParameterException.class, () -> applicationService.search(PageRequest.of(0, 10), " ", null));
+        assertEquals(ErrorMessage.NO_SEARCH.message, exception.getMessage());
+    }
+
     @Test
     public void when_delete_application_throws_exception_for_its_id(){
         applicationService.deleteApplication(BigInteger.valueOf(12345), History.builder().resignReason("reason").build());
@@ -180,6 +251,19 @@ class ApplicationServiceTest {
         assertEquals(ErrorMessage.NO_REASON.message, exception.getMessage());
     }
 
+    @Test
+    public void when_delete_not_existing_application_without_reason_throws_not_found(){
+        Throwable exception = assertThrows(ApplicationNotFoundException.class, () -> applicationService.deleteApplication(BigInteger.valueOf(99999), new History()));
+        assertEquals(String.format(ErrorMessage.ENTITY_NOT_EXIST.message, "99999"), exception.getMessage());
+    }
+
+    @Test
+    public void when_delete_application_in_wrong_state_without_reason_throws_wrong_state(){
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+        Throwable exception = assertThrows(WrongStateException.class, () -> applicationService.deleteApplication(BigInteger.valueOf(12345), new History()));
+        assertEquals(String.format(ErrorMessage.WRONG_STATE.message, State.CREATED), exception.getMessage());
+    }
+
     @Test
     public void when_reject_application_throws_exception_for_its_id(){
         applicationService.verifyApplication(BigInteger.valueOf(12345));
@@ -194,4 +278,118 @@ class ApplicationServiceTest {
         Throwable exception = assertThrows(NoReasonException.class, () -> applicationService.rejectApplication(BigInteger.valueOf(12345), new History()));
         assertEquals(ErrorMessage.NO_REASON.message, exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void when_verify_not_existing_application_throws_exception(){
+        Throwable exception = assertThrows(ApplicationNotFoundException.class, () -> applicationService.verifyApplication(BigInteger.valueOf(99999)));
+        assertEquals(String.format(ErrorMessage.ENTITY_NOT_EXIST.message, "99999"), exception.getMessage());
+    }
+
+    @Test
+    public void when_delete_application_in_wrong_state_throws_exception(){
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+        Throwable exception = assertThrows(WrongStateException.class, () -> applicationService.deleteApplication(BigInteger.valueOf(12345), History.builder().resignReason("reason").build()));
+        assertEquals(String.format(ErrorMessage.WRONG_STATE.message, State.CREATED), exception.getMessage());
+    }
+
+    @Test
+    public void when_bulk_verify_applications_reports_result_per_id(){
+        applicationService.verifyApplication(BigInteger.valueOf(67890));
+        BulkRequest request = BulkRequest.builder().ids(List.of(BigInteger.valueOf(12345), BigInteger.valueOf(67890), BigInteger.valueOf(99999))).build();
+
+        BulkResult result = applicationService.verifyApplications(request);
+
+        assertEquals(List.of(BigInteger.valueOf(12345)), result.getChanged());
+        assertEquals(List.of(BigInteger.valueOf(67890)), result.getWrongState());
+        assertEquals(List.of(BigInteger.valueOf(99999)), result.getNotFound());
+        assertEquals(State.VERIFIED, applicationService.getApplicationById(BigInteger.valueOf(12345)).getState());
+    }
+
+    @Test
+    public void when_bulk_verify_races_single_verify_then_credits_only_own_changes(){
+        BigInteger raced = BigInteger.valueOf(67890);
+        long histories = countHistories(raced);
+        doAnswer(invocation -> {
+            applicationService.verifyApplication(raced);
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(mongoTemplate).bulkOps(any(BulkOperations.BulkMode.class), eq(Application.class));
+
+        BulkResult result = applicationService.verifyApplications(BulkRequest.builder().ids(List.of(BigInteger.valueOf(12345), raced)).build());
+
+        assertEquals(List.of(BigInteger.valueOf(12345)), result.getChanged());
+        assertEquals(List.of(raced), result.getWrongState());
+        assertEquals(histories + 1, countHistories(raced));
+    }
+
+    @Test
+    public void when_bulk_delete_races_single_delete_then_credits_only_own_removals(){
+        BigInteger raced = BigInteger.valueOf(67890);
+        long histories = countHistories(raced);
+        doAnswer(invocation -> {
+            applicationService.deleteApplication(raced, History.builder().resignReason("other").build());
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(mongoTemplate).bulkOps(any(BulkOperations.BulkMode.class), eq(Application.class));
+
+        BulkResult result = applicationService.deleteApplications(BulkRequest.builder().ids(List.of(BigInteger.valueOf(12345), raced)).resignReason("reason").build());
+
+        assertEquals(List.of(BigInteger.valueOf(12345)), result.getChanged());
+        assertEquals(List.of(raced), result.getNotFound());
+        assertEquals(histories + 1, countHistories(raced));
+        assertThrows(ApplicationNotFoundException.class, () -> applicationService.getApplicationById(BigInteger.valueOf(12345)));
+    }
+
+    private long countHistories(BigInteger applicationId) {
+        return mongoTemplate.count(Query.query(Criteria.where("applicationId").is(applicationId)), History.class);
+    }
+
+    @Test
+    public void when_bulk_reject_applications_without_reason_throws_exception(){
+        BulkRequest request = BulkRequest.builder().ids(List.of(BigInteger.valueOf(12345))).build();
+        Throwable exception = assertThrows(NoReasonException.class, () -> applicationService.rejectApplications(request));
+        assertEquals(ErrorMessage.NO_REASON.message, exception.getMessage());
+    }
+
+    @Test
+    public void when_bulk_delete_applications_removes_them(){
+        BulkRequest request = BulkRequest.builder().ids(List.of(BigInteger.valueOf(12345), BigInteger.valueOf(67890))).resignReason("reason").build();
+
+        BulkResult result = applicationService.deleteApplications(request);
+
+        assertEquals(2, result.getChanged().size());
+        assertThrows(ApplicationNotFoundException.class, () -> applicationService.getApplicationById(BigInteger.valueOf(67890)));
+    }
+
+    @Test
+    public void when_get_cursor_pages_returns_all_applications_once(){
+        CursorPage<Application> firstPage = applicationService.getCursorPage(null, 2, "name", null, CountMode.EXACT);
+        CursorPage<Application> secondPage = applicationService.getCursorPage(firstPage.getNext(), 2, "name", null, CountMode.NONE);
+
+        assertEquals(3, firstPage.getTotal());
+        assertEquals(2, firstPage.getContent().size());
+        assertEquals(1, secondPage.getContent().size());
+        assertNull(secondPage.getNext());
+        assertNull(secondPage.getTotal());
+    }
+
+    @Test
+    public void when_get_cursor_page_with_invalid_cursor_throws_exception(){
+        Throwable exception = assertThrows(InvalidCursorException.class, () -> applicationService.getCursorPage("%%%", 3, null, null, CountMode.NONE));
+        assertEquals(String.format(ErrorMessage.INVALID_CURSOR.message, "%%%"), exception.getMessage());
+    }
+
+    @Test
+    public void when_application_changes_state_cached_application_is_refreshed(){
+        applicationService.getApplicationById(BigInteger.valueOf(12345));
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+
+        assertEquals(State.VERIFIED, applicationService.getApplicationById(BigInteger.valueOf(12345)).getState());
+    }
+
+    @Test
+    public void when_bulk_verify_applications_cached_applications_are_evicted(){
+        applicationService.getApplicationById(BigInteger.valueOf(67890));
+        applicationService.verifyApplications(BulkRequest.builder().ids(List.of(BigInteger.valueOf(67890))).build());
+
+        assertEquals(State.VERIFIED, applicationService.getApplicationById(BigInteger.valueOf(67890)).getState());
+    }
+}
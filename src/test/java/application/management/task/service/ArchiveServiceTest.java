@@ -0,0 +1,152 @@
+package application.management.task.service;
+
+import application.management.task.model.Application;
+import application.management.task.model.ArchivedApplication;
+import application.management.task.model.BulkRequest;
+import application.management.task.model.History;
+import application.management.task.model.HistorySummary;
+import application.management.task.model.State;
+import application.management.task.repository.ApplicationRepository;
+import application.management.task.repository.HistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = {"applications.archive.enabled=true", "applications.archive.delay=600000", "applications.counters.reconcile-delay=600000"})
+class ArchiveServiceTest {
+
+    @SpyBean
+    private ArchiveService archiveService;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        applicationRepository.deleteAll();
+        historyRepository.deleteAll();
+        mongoTemplate.dropCollection(ArchivedApplication.class);
+        mongoTemplate.dropCollection(HistorySummary.class);
+        applicationService.addApplication(Application.builder().id(BigInteger.valueOf(12345)).name("name").content("content").build());
+        applicationService.addApplication(Application.builder().id(BigInteger.valueOf(67890)).name("name").content("content").build());
+    }
+
+    @Test
+    public void when_delete_application_then_it_is_archived() {
+        applicationService.deleteApplication(BigInteger.valueOf(12345), History.builder().resignReason("duplicate").build());
+
+        ArchivedApplication archivedApplication = archiveService.getArchivedApplication(BigInteger.valueOf(12345));
+        assertEquals(State.DELETED, archivedApplication.getState());
+        assertEquals("duplicate", archivedApplication.getResignReason());
+        assertEquals("content", archivedApplication.getContent());
+        assertFalse(applicationRepository.existsById(BigInteger.valueOf(12345)));
+    }
+
+    @Test
+    public void when_archive_fails_then_deleted_application_is_kept() {
+        doThrow(new IllegalStateException("archive unavailable")).when(archiveService).archive(anyCollection(), any(), any());
+
+        assertThrows(IllegalStateException.class, () -> applicationService.deleteApplication(BigInteger.valueOf(12345), History.builder().resignReason("duplicate").build()));
+
+        assertEquals(State.CREATED, applicationRepository.findById(BigInteger.valueOf(12345)).orElseThrow().getState());
+        assertEquals(0, mongoTemplate.count(new Query(), ArchivedApplication.class));
+        assertEquals(0, historyRepository.count());
+    }
+
+    @Test
+    public void when_archive_fails_then_bulk_rejected_applications_are_kept() {
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+        applicationService.verifyApplication(BigInteger.valueOf(67890));
+        applicationService.acceptApplication(BigInteger.valueOf(67890));
+        doThrow(new IllegalStateException("archive unavailable")).when(archiveService).archive(anyCollection(), any(), any());
+
+        assertThrows(IllegalStateException.class, () -> applicationService.rejectApplications(BulkRequest.builder()
+                .ids(List.of(BigInteger.valueOf(12345), BigInteger.valueOf(67890))).resignReason("spam").build()));
+
+        assertEquals(State.VERIFIED, applicationRepository.findById(BigInteger.valueOf(12345)).orElseThrow().getState());
+        assertEquals(State.ACCEPTED, applicationRepository.findById(BigInteger.valueOf(67890)).orElseThrow().getState());
+    }
+
+    @Test
+    public void when_bulk_reject_applications_then_they_are_archived() {
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+        applicationService.rejectApplications(BulkRequest.builder().ids(List.of(BigInteger.valueOf(12345), BigInteger.valueOf(67890))).resignReason("spam").build());
+
+        assertEquals(State.REJECTED, archiveService.getArchivedApplication(BigInteger.valueOf(12345)).getState());
+        assertEquals(1, mongoTemplate.count(new Query(), ArchivedApplication.class));
+    }
+
+    @Test
+    public void when_published_application_is_old_then_it_is_archived() {
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+        applicationService.acceptApplication(BigInteger.valueOf(12345));
+        applicationService.publishApplication(BigInteger.valueOf(12345));
+        applicationService.verifyApplication(BigInteger.valueOf(67890));
+        applicationService.acceptApplication(BigInteger.valueOf(67890));
+        applicationService.publishApplication(BigInteger.valueOf(67890));
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(BigInteger.valueOf(12345))), Update.update("stateChangedAt", LocalDate.now().minusDays(31)), Application.class);
+
+        assertEquals(1, archiveService.archivePublished());
+
+        assertEquals(State.PUBLISHED, archiveService.getArchivedApplication(BigInteger.valueOf(12345)).getState());
+        assertEquals(List.of(BigInteger.valueOf(67890)), List.of(applicationRepository.findAll().get(0).getId()));
+    }
+
+    @Test
+    public void when_published_application_has_no_state_date_then_backfill_changes_version() {
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+        applicationService.acceptApplication(BigInteger.valueOf(12345));
+        applicationService.publishApplication(BigInteger.valueOf(12345));
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(BigInteger.valueOf(12345))), new Update().unset("stateChangedAt"), Application.class);
+        long version = applicationRepository.findById(BigInteger.valueOf(12345)).orElseThrow().getVersion();
+
+        assertEquals(0, archiveService.archivePublished());
+
+        assertEquals(version + 1, applicationService.getApplicationVersion(BigInteger.valueOf(12345)));
+        assertEquals(LocalDate.now(), applicationService.getApplicationById(BigInteger.valueOf(12345)).getStateChangedAt());
+    }
+
+    @Test
+    public void when_history_is_old_then_it_is_compacted_into_summary() {
+        LocalDate old = LocalDate.now().minusDays(100);
+        historyRepository.save(History.builder().date(old).oldState(State.CREATED).applicationId(BigInteger.valueOf(12345)).build());
+        historyRepository.save(History.builder().date(old.plusDays(1)).oldState(State.VERIFIED).applicationId(BigInteger.valueOf(12345)).build());
+        historyRepository.save(History.builder().date(LocalDate.now()).oldState(State.ACCEPTED).applicationId(BigInteger.valueOf(12345)).build());
+
+        assertEquals(2, archiveService.compactHistory());
+        assertEquals(0, archiveService.compactHistory());
+
+        HistorySummary summary = archiveService.getHistorySummary(BigInteger.valueOf(12345));
+        assertEquals(2, summary.getTransitions());
+        assertEquals(List.of(State.CREATED, State.VERIFIED), summary.getStates());
+        assertEquals(old, summary.getFirstDate());
+        assertEquals(old.plusDays(1), summary.getLastDate());
+        assertEquals(1, historyRepository.findAllByApplicationId(BigInteger.valueOf(12345)).size());
+    }
+}
@@ -0,0 +1,75 @@
+package application.management.task.service;
+
+import application.management.task.error.InvalidFieldException;
+import application.management.task.model.Application;
+import application.management.task.model.BulkRequest;
+import application.management.task.model.CountMode;
+import application.management.task.model.History;
+import application.management.task.model.State;
+import application.management.task.repository.ApplicationRepository;
+import application.management.task.repository.HistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"applications.history.recent-size=2", "applications.counters.reconcile-delay=600000"})
+class EmbeddedHistoryTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @BeforeEach
+    void setUp() {
+        applicationRepository.deleteAll();
+        historyRepository.deleteAll();
+        applicationService.addApplication(Application.builder().id(BigInteger.valueOf(12345)).name("name").content("content").build());
+    }
+
+    @Test
+    public void when_application_is_new_then_recent_history_is_empty() {
+        assertTrue(applicationService.getApplicationWithHistory(BigInteger.valueOf(12345)).getRecentHistory().isEmpty());
+    }
+
+    @Test
+    public void when_state_changes_then_recent_history_keeps_last_entries() {
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+        applicationService.acceptApplications(BulkRequest.builder().ids(List.of(BigInteger.valueOf(12345))).build());
+        applicationService.publishApplication(BigInteger.valueOf(12345));
+
+        List<History> recentHistory = applicationService.getApplicationWithHistory(BigInteger.valueOf(12345)).getRecentHistory();
+
+        assertEquals(List.of(State.VERIFIED, State.ACCEPTED), recentHistory.stream().map(History::getOldState).collect(Collectors.toList()));
+        assertEquals(3, historyRepository.findAllByApplicationId(BigInteger.valueOf(12345)).size());
+        assertTrue(historyRepository.existsById(recentHistory.get(1).getId()));
+    }
+
+    @Test
+    public void when_read_without_history_then_recent_history_is_left_out() {
+        Application verified = applicationService.verifyApplication(BigInteger.valueOf(12345));
+
+        assertNull(verified.getRecentHistory());
+        assertNull(applicationService.getApplicationById(BigInteger.valueOf(12345)).getRecentHistory());
+        assertNull(applicationService.getAllApplications().get(0).getRecentHistory());
+        assertNull(applicationService.getAllPages(PageRequest.of(0, 10), null, null).getContent().get(0).getRecentHistory());
+        assertNull(applicationService.getCursorPage(null, 10, null, null, CountMode.NONE).getContent().get(0).getRecentHistory());
+        assertEquals(1, applicationService.getApplicationWithHistory(BigInteger.valueOf(12345)).getRecentHistory().size());
+        assertThrows(InvalidFieldException.class, () -> applicationService.getAllApplications(List.of("recentHistory")));
+    }
+}
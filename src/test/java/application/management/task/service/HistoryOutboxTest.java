@@ -0,0 +1,80 @@
+package application.management.task.service;
+
+import application.management.task.model.History;
+import application.management.task.model.State;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HistoryOutboxTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void when_segment_flushed_it_is_deleted() throws IOException {
+        HistoryOutbox outbox = new HistoryOutbox(directory.resolve("outbox.ndjson"), objectMapper, 2, false);
+        outbox.open();
+
+        long first = outbox.append(history(1));
+        outbox.append(history(2));
+        long second = outbox.append(history(3));
+        assertEquals(2, countFiles());
+
+        outbox.acknowledge(second, 1);
+        assertEquals(1, countFiles());
+        outbox.acknowledge(first, 2);
+        assertEquals(0, countFiles());
+        outbox.close();
+    }
+
+    @Test
+    public void when_reopened_unflushed_entries_are_replayed_in_batches() throws IOException {
+        HistoryOutbox outbox = new HistoryOutbox(directory.resolve("outbox.ndjson"), objectMapper, 2, false);
+        outbox.open();
+        for (int id = 1; id <= 5; id++) {
+            outbox.append(history(id));
+        }
+        outbox.close();
+
+        HistoryOutbox reopened = new HistoryOutbox(directory.resolve("outbox.ndjson"), objectMapper, 2, false);
+        assertEquals(3, reopened.open());
+        List<Integer> batches = new ArrayList<>();
+        List<BigInteger> ids = new ArrayList<>();
+        reopened.replay(4, batch -> {
+            batches.add(batch.size());
+            batch.forEach(history -> ids.add(history.getId()));
+        });
+
+        assertEquals(List.of(2, 2, 1), batches);
+        assertEquals(List.of(BigInteger.ONE, BigInteger.TWO, BigInteger.valueOf(3), BigInteger.valueOf(4), BigInteger.valueOf(5)), ids);
+        assertEquals(0, countFiles());
+        reopened.append(history(6));
+        assertEquals(1, countFiles());
+        reopened.close();
+    }
+
+    private History history(int id) {
+        return History.builder().id(BigInteger.valueOf(id)).date(LocalDate.now()).oldState(State.CREATED).applicationId(BigInteger.TEN).build();
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package application.management.task.service;
+
+import application.management.task.error.HistoryBacklogException;
+import application.management.task.model.History;
+import application.management.task.model.State;
+import application.management.task.repository.HistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = {"applications.history.async=true", "applications.history.outbox=target/history-outbox-test.ndjson",
+        "applications.history.queue-capacity=2", "applications.history.batch-size=2", "applications.history.flush-interval=50", "applications.history.max-attempts=2",
+        "applications.history.append-timeout=100"})
+class HistoryServiceTest {
+
+    private static final Path DEAD_LETTER = Paths.get("target/history-outbox-test.ndjson" + HistoryOutbox.DEAD_LETTER_SUFFIX);
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @SpyBean
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        historyRepository.deleteAll();
+        Files.deleteIfExists(DEAD_LETTER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        doCallRealMethod().when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, History.class);
+    }
+
+    @Test
+    public void when_history_added_asynchronously_it_is_flushed_to_repository() throws InterruptedException {
+        BigInteger applicationId = BigInteger.valueOf(12345);
+        historyService.getHistoryOfApplication(applicationId);
+
+        historyService.addHistory(History.builder().date(LocalDate.now()).oldState(State.CREATED).applicationId(applicationId).build());
+        historyService.addHistories(List.of(History.builder().date(LocalDate.now()).oldState(State.VERIFIED).applicationId(applicationId).build()));
+
+        List<History> histories = historyService.getHistoryOfApplication(applicationId);
+        for (int attempt = 0; attempt < 50 && histories.size() < 2; attempt++) {
+            Thread.sleep(100);
+            histories = historyService.getHistoryOfApplication(applicationId);
+        }
+        assertEquals(2, histories.size());
+    }
+
+    @Test
+    public void when_history_rejected_it_is_dead_lettered_and_writer_continues() throws Exception {
+        doThrow(new InvalidDataAccessApiUsageException("rejected")).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, History.class);
+        historyService.addHistory(History.builder().date(LocalDate.now()).oldState(State.CREATED).applicationId(BigInteger.valueOf(777)).build());
+        for (int attempt = 0; attempt < 50 && !Files.exists(DEAD_LETTER); attempt++) {
+            Thread.sleep(100);
+        }
+        assertTrue(Files.readString(DEAD_LETTER, StandardCharsets.UTF_8).contains("777"));
+
+        doCallRealMethod().when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, History.class);
+        BigInteger applicationId = BigInteger.valueOf(888);
+        historyService.addHistory(History.builder().date(LocalDate.now()).oldState(State.CREATED).applicationId(applicationId).build());
+        assertEquals(1, awaitHistory(applicationId, 1).size());
+    }
+
+    @Test
+    public void when_database_unavailable_and_queue_full_then_append_is_rejected() throws InterruptedException {
+        doThrow(new DataAccessResourceFailureException("unavailable")).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, History.class);
+        BigInteger applicationId = BigInteger.valueOf(999);
+
+        int accepted = 0;
+        try {
+            for (; accepted < 10; accepted++) {
+                historyService.addHistory(History.builder().date(LocalDate.now()).oldState(State.CREATED).applicationId(applicationId).build());
+            }
+        } catch (HistoryBacklogException exception) {
+            // the worker holds one batch of two and the queue is full
+        }
+        assertTrue(accepted < 10);
+
+        doCallRealMethod().when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, History.class);
+        assertEquals(accepted, awaitHistory(applicationId, accepted).size());
+    }
+
+    private List<History> awaitHistory(BigInteger applicationId, int size) throws InterruptedException {
+        List<History> histories = historyRepository.findAllByApplicationId(applicationId);
+        for (int attempt = 0; attempt < 50 && histories.size() < size; attempt++) {
+            Thread.sleep(100);
+            histories = historyRepository.findAllByApplicationId(applicationId);
+        }
+        return histories;
+    }
+}
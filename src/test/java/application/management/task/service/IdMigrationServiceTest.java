@@ -0,0 +1,136 @@
+package application.management.task.service;
+
+import application.management.task.model.Application;
+import application.management.task.model.ArchivedApplication;
+import application.management.task.model.CountMode;
+import application.management.task.model.CursorPage;
+import application.management.task.model.History;
+import application.management.task.model.HistorySummary;
+import application.management.task.model.State;
+import application.management.task.repository.ApplicationRepository;
+import application.management.task.repository.HistoryRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"applications.id.strategy=sequence", "applications.id.block-size=100", "applications.counters.reconcile-delay=600000"})
+class IdMigrationServiceTest {
+
+    @Autowired
+    private IdMigrationService idMigrationService;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        applicationRepository.deleteAll();
+        historyRepository.deleteAll();
+        mongoTemplate.dropCollection(IdMigrationService.MIGRATION_COLLECTION);
+        mongoTemplate.dropCollection(ArchivedApplication.class);
+        mongoTemplate.dropCollection(HistorySummary.class);
+    }
+
+    @Test
+    public void when_add_application_without_id_assigns_sequence_id() {
+        Application first = applicationService.addApplication(Application.builder().name("name").content("content").build());
+        Application second = applicationService.addApplication(Application.builder().name("name").content("content").build());
+
+        assertTrue(first.getId().bitLength() < Long.SIZE);
+        assertEquals(first.getId().add(BigInteger.ONE), second.getId());
+        assertEquals(second, applicationService.getApplicationById(second.getId()));
+    }
+
+    @Test
+    public void when_migrate_rewrites_object_ids_and_history_references() {
+        ObjectId legacyId = new ObjectId();
+        BigInteger legacyApplicationId = new BigInteger(legacyId.toHexString(), 16);
+        mongoTemplate.insert(new Document("_id", legacyId).append("state", State.VERIFIED.name()).append("name", "name").append("content", "content"),
+                mongoTemplate.getCollectionName(Application.class));
+        historyRepository.save(History.builder().date(LocalDate.now()).oldState(State.CREATED).applicationId(legacyApplicationId).build());
+
+        assertEquals(1, idMigrationService.migrate());
+        assertEquals(0, idMigrationService.migrate());
+
+        List<Application> applications = applicationRepository.findAll();
+        assertEquals(1, applications.size());
+        BigInteger newId = applications.get(0).getId();
+        assertTrue(newId.bitLength() < Long.SIZE);
+        assertEquals(State.VERIFIED, applications.get(0).getState());
+        assertFalse(applicationRepository.existsById(legacyApplicationId));
+        assertEquals(newId, historyRepository.findAll().get(0).getApplicationId());
+        assertEquals(newId, applicationService.getApplicationById(legacyApplicationId).getId());
+        assertEquals(0L, applicationService.getApplicationVersion(legacyApplicationId));
+    }
+
+    @Test
+    public void when_cursor_pages_sequence_ids_returns_numeric_order_and_legacy_ids() {
+        ObjectId legacyId = new ObjectId();
+        mongoTemplate.insert(new Document("_id", legacyId).append("state", State.CREATED.name()).append("name", "name").append("content", "content"),
+                mongoTemplate.getCollectionName(Application.class));
+        for (int i = 0; i < 12; i++) {
+            applicationService.addApplication(Application.builder().name("name").content("content").build());
+        }
+
+        List<BigInteger> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Application> page = applicationService.getCursorPage(cursor, 5, null, null, CountMode.NONE);
+            page.getContent().forEach(application -> ids.add(application.getId()));
+            cursor = page.getNext();
+        } while (cursor != null);
+
+        assertEquals(13, ids.size());
+        assertEquals(ids.subList(0, 12).stream().sorted().collect(Collectors.toList()), ids.subList(0, 12));
+        assertEquals(new BigInteger(legacyId.toHexString(), 16), ids.get(12));
+    }
+
+    @Test
+    public void when_migrate_rewrites_archive_summaries_and_embedded_history() {
+        ObjectId legacyId = new ObjectId();
+        ObjectId archivedId = new ObjectId();
+        BigInteger legacyApplicationId = new BigInteger(legacyId.toHexString(), 16);
+        BigInteger archivedApplicationId = new BigInteger(archivedId.toHexString(), 16);
+        mongoTemplate.insert(new Document("_id", legacyId).append("state", State.VERIFIED.name()).append("name", "name").append("content", "content")
+                        .append("recentHistory", List.of(new Document("oldState", State.CREATED.name()).append("applicationId", legacyApplicationId.toString()))),
+                mongoTemplate.getCollectionName(Application.class));
+        mongoTemplate.insert(ArchivedApplication.builder().id(archivedApplicationId).state(State.PUBLISHED).name("name").build());
+        mongoTemplate.insert(HistorySummary.builder().applicationId(archivedApplicationId).transitions(3).build());
+        historyRepository.save(History.builder().date(LocalDate.now()).oldState(State.ACCEPTED).applicationId(archivedApplicationId).build());
+
+        assertEquals(2, idMigrationService.migrate());
+
+        Application application = applicationRepository.findAll().get(0);
+        assertTrue(application.getId().bitLength() < Long.SIZE);
+        assertEquals(application.getId(), application.getRecentHistory().get(0).getApplicationId());
+        List<ArchivedApplication> archived = mongoTemplate.findAll(ArchivedApplication.class);
+        assertEquals(1, archived.size());
+        BigInteger newArchivedId = archived.get(0).getId();
+        assertTrue(newArchivedId.bitLength() < Long.SIZE);
+        assertEquals(List.of(newArchivedId), mongoTemplate.findAll(HistorySummary.class).stream().map(HistorySummary::getApplicationId).collect(Collectors.toList()));
+        assertEquals(newArchivedId, historyRepository.findAll().get(0).getApplicationId());
+    }
+}
@@ -0,0 +1,112 @@
+package application.management.task.service;
+
+import application.management.task.model.Application;
+import application.management.task.model.BulkRequest;
+import application.management.task.model.History;
+import application.management.task.model.ReasonCount;
+import application.management.task.model.State;
+import application.management.task.model.StateCount;
+import application.management.task.model.StateDuration;
+import application.management.task.repository.ApplicationRepository;
+import application.management.task.repository.HistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "applications.counters.reconcile-delay=600000")
+class StatisticsServiceTest {
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private StateCounterService stateCounterService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @BeforeEach
+    void setUp() {
+        applicationRepository.deleteAll();
+        historyRepository.deleteAll();
+        stateCounterService.reconcile();
+        applicationService.addApplication(Application.builder().id(BigInteger.valueOf(12345)).name("name").content("content").build());
+        applicationService.addApplication(Application.builder().id(BigInteger.valueOf(67890)).name("name").content("content").build());
+        applicationService.addApplication(Application.builder().id(BigInteger.valueOf(11111)).name("name").content("content").build());
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+        applicationService.deleteApplication(BigInteger.valueOf(11111), History.builder().resignReason("duplicate").build());
+    }
+
+    @Test
+    public void when_count_by_state_returns_count_per_state() {
+        List<StateCount> counts = statisticsService.countByState();
+
+        assertEquals(List.of(new StateCount(State.CREATED, 1), new StateCount(State.VERIFIED, 1)), counts);
+    }
+
+    @Test
+    public void when_count_transitions_per_day_returns_all_transitions_of_today() {
+        assertEquals(2, statisticsService.countTransitionsPerDay(LocalDate.now(), null).get(0).getCount());
+        assertEquals(0, statisticsService.countTransitionsPerDay(LocalDate.now().plusDays(1), null).size());
+    }
+
+    @Test
+    public void when_count_resign_reasons_returns_count_per_reason() {
+        assertEquals(List.of(new ReasonCount(State.DELETED, "duplicate", 1)), statisticsService.countResignReasons());
+    }
+
+    @Test
+    public void when_applications_change_state_counters_follow_collection() {
+        applicationService.verifyApplications(BulkRequest.builder().ids(List.of(BigInteger.valueOf(67890))).build());
+        applicationService.acceptApplication(BigInteger.valueOf(12345));
+
+        assertEquals(List.of(new StateCount(State.ACCEPTED, 1), new StateCount(State.VERIFIED, 1)), statisticsService.countByState());
+        assertEquals(1, countOf(State.ACCEPTED));
+        assertEquals(1, countOf(State.VERIFIED));
+        assertEquals(0, countOf(State.CREATED));
+    }
+
+    @Test
+    public void when_counters_drift_reconcile_corrects_them() {
+        stateCounterService.increment(State.CREATED, 5);
+        stateCounterService.increment(State.PUBLISHED, -2);
+
+        stateCounterService.reconcile();
+
+        assertEquals(1, countOf(State.CREATED));
+        assertEquals(1, countOf(State.VERIFIED));
+        assertEquals(0, countOf(State.PUBLISHED));
+    }
+
+    @Test
+    public void when_average_time_in_state_returns_days_between_transitions() {
+        LocalDate start = LocalDate.now().minusDays(10);
+        historyRepository.saveAll(List.of(
+                History.builder().id(BigInteger.valueOf(1)).applicationId(BigInteger.valueOf(22222)).oldState(State.CREATED).date(start).build(),
+                History.builder().id(BigInteger.valueOf(2)).applicationId(BigInteger.valueOf(22222)).oldState(State.VERIFIED).date(start.plusDays(2)).build(),
+                History.builder().id(BigInteger.valueOf(3)).applicationId(BigInteger.valueOf(22222)).oldState(State.ACCEPTED).date(start.plusDays(6)).build(),
+                History.builder().id(BigInteger.valueOf(4)).applicationId(BigInteger.valueOf(33333)).oldState(State.CREATED).date(start).build(),
+                History.builder().id(BigInteger.valueOf(5)).applicationId(BigInteger.valueOf(33333)).oldState(State.VERIFIED).date(start.plusDays(4)).build()));
+
+        assertEquals(List.of(
+                StateDuration.builder().state(State.ACCEPTED).averageDays(4).samples(1).build(),
+                StateDuration.builder().state(State.VERIFIED).averageDays(3).samples(2).build()), statisticsService.averageTimeInState());
+    }
+
+    private long countOf(State state) {
+        return stateCounterService.getStateCounts().stream().filter(count -> count.getState() == state).findFirst().orElseThrow().getCount();
+    }
+}
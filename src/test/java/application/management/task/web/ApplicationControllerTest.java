@@ -1,26 +1,40 @@
 package application.management.task.web;
 
 import application.management.task.model.Application;
+import application.management.task.model.BulkRequest;
 import application.management.task.model.State;
 import application.management.task.repository.ApplicationRepository;
 import application.management.task.service.ApplicationService;
+import application.management.task.service.HistoryService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigInteger;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureMetrics
 class ApplicationControllerTest {
 
     @Autowired
@@ -29,12 +43,18 @@ class ApplicationControllerTest {
     @Autowired
     private ApplicationRepository applicationRepository;
 
-    @Autowired
+    @SpyBean
     private ApplicationService applicationService;
 
+    @SpyBean
+    private HistoryService historyService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         applicationRepository.deleteAll();
@@ -65,6 +85,17 @@ class ApplicationControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    void when_add_body_contains_version_then_creates_application() throws Exception {
+        mockMvc.perform(post("/add")
+                .contentType("application/json")
+                .content("{\"name\":\"n\",\"content\":\"c\",\"version\":3,\"recentHistory\":[]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.state").value("CREATED"))
+                .andExpect(jsonPath("$.version").value(0))
+                .andExpect(jsonPath("$.recentHistory").doesNotExist());
+    }
+
     @Test
     void when_get_application_then_returns_proper_values() throws Exception {
 
@@ -77,6 +108,19 @@ class ApplicationControllerTest {
                 .andExpect(jsonPath("$.content").value("content"));
     }
 
+    @Test
+    void when_get_application_with_history_then_returns_history() throws Exception {
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+
+        mockMvc.perform(get("/{id}", BigInteger.valueOf(12345)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recentHistory").doesNotExist());
+        mockMvc.perform(get("/{id}", BigInteger.valueOf(12345)).param("withHistory", "true"))
+                .andDo(print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("VERIFIED"))
+                .andExpect(jsonPath("$.recentHistory[0].oldState").value("CREATED"));
+    }
+
     @Test
     void when_verify_application_then_has_verified_status() throws Exception {
 
@@ -127,5 +171,178 @@ class ApplicationControllerTest {
                 .andReturn();
     }
 
+    @Test
+    void when_bulk_publish_applications_then_returns_result_per_id() throws Exception {
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+        applicationService.acceptApplication(BigInteger.valueOf(12345));
+        BulkRequest request = BulkRequest.builder().ids(List.of(BigInteger.valueOf(12345), BigInteger.valueOf(67890))).build();
+
+        mockMvc.perform(patch("/publish")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(request)))
+                .andDo(print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[0]").value("12345"))
+                .andExpect(jsonPath("$.wrongState[0]").value("67890"));
+    }
+
+    @Test
+    void when_stream_all_applications_then_returns_one_line_per_application() throws Exception {
+        MvcResult result = mockMvc.perform(get("/all").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body.split("\n")).hasSize(4);
+    }
+
+    @Test
+    void when_application_transitions_then_metrics_are_recorded() throws Exception {
+        mockMvc.perform(patch("/verify/{id}", BigInteger.valueOf(12345)));
+        mockMvc.perform(patch("/verify/{id}", BigInteger.valueOf(12345)));
+
+        assertThat(meterRegistry.get("applications.transition").tag("transition", "verify").timer().count()).isPositive();
+        assertThat(meterRegistry.get("applications.errors").tag("exception", "WrongStateException").counter().count()).isPositive();
+        assertThat(meterRegistry.get("spring.data.repository.invocations").tag("repository", "ApplicationRepository").timers()).isNotEmpty();
+    }
+
+    @Test
+    void when_single_and_bulk_transitions_then_both_are_scraped() throws Exception {
+        mockMvc.perform(patch("/verify/{id}", BigInteger.valueOf(12345))).andExpect(status().isOk());
+        mockMvc.perform(patch("/verify")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(BulkRequest.builder().ids(List.of(BigInteger.valueOf(67890))).build())))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(scrape).containsPattern("applications_transition_seconds_count\\{[^}]*mode=\"single\"[^}]*transition=\"verify\"");
+        assertThat(scrape).containsPattern("applications_transition_seconds_count\\{[^}]*mode=\"bulk\"[^}]*transition=\"verify\"");
+    }
+
+    @Test
+    void when_import_ndjson_then_inserts_valid_rows_and_reports_errors() throws Exception {
+        String body = "{\"id\":33333,\"name\":\"imported\",\"content\":\"content\"}\n"
+                + "{\"name\":\"no content\"}\n"
+                + "not json\n"
+                + "{\"id\":12345,\"name\":\"duplicate\",\"content\":\"content\"}\n";
+
+        mockMvc.perform(post("/import").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andDo(print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("To add application provide name and content."))
+                .andExpect(jsonPath("$.errors[1].row").value(3))
+                .andExpect(jsonPath("$.errors[2].row").value(4))
+                .andExpect(jsonPath("$.errors[2].message").value("Object with id=[12345] already exists."));
+        assertThat(applicationRepository.findById(BigInteger.valueOf(33333)).get().getState()).isEqualTo(State.CREATED);
+    }
+
+    @Test
+    void when_import_csv_then_inserts_valid_rows() throws Exception {
+        String body = "content,name\n\"quoted, \"\"content\"\"\",csv\n,missing name\n";
+
+        mockMvc.perform(post("/import").contentType("text/csv").content(body))
+                .andDo(print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(3));
+        assertThat(applicationRepository.findAll()).anyMatch(application -> "quoted, \"content\"".equals(application.getContent()) && "csv".equals(application.getName()));
+    }
+
+    @Test
+    void when_get_pages_with_fields_then_returns_only_selected_fields() throws Exception {
+        mockMvc.perform(get("/get").param("state", "CREATED").param("fields", "id,name,state"))
+                .andDo(print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").exists())
+                .andExpect(jsonPath("$.content[0].state").value("CREATED"))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(4));
+    }
 
-}
\ No newline at end of file
+    @Test
+    void when_get_all_with_unknown_field_then_returns_bad_request() throws Exception {
+        mockMvc.perform(get("/all").param("fields", "name,searchName"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Field [searchName] does not exist."));
+    }
+
+    @Test
+    void when_update_with_stale_if_match_then_returns_conflict() throws Exception {
+        mockMvc.perform(get("/{id}", BigInteger.valueOf(12345)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""));
+
+        mockMvc.perform(put("/update").header("If-Match", "\"0\"")
+                .contentType("application/json")
+                .content("{\"id\":12345,\"name\":\"first\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        mockMvc.perform(put("/update").header("If-Match", "\"0\"")
+                .contentType("application/json")
+                .content("{\"id\":12345,\"name\":\"second\"}"))
+                .andDo(print()).andExpect(status().isConflict());
+        assertThat(applicationService.getApplicationById(BigInteger.valueOf(12345)).getName()).isEqualTo("first");
+    }
+
+    @Test
+    void when_get_with_current_etag_then_returns_not_modified() throws Exception {
+        mockMvc.perform(get("/{id}", BigInteger.valueOf(12345)).header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+        mockMvc.perform(get("/{id}", BigInteger.valueOf(12345)).header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.state").value("VERIFIED"));
+    }
+
+    @Test
+    void when_get_without_if_none_match_then_tags_without_probing() throws Exception {
+        mockMvc.perform(get("/{id}", BigInteger.valueOf(12345)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""));
+        mockMvc.perform(get("/history/application/{id}", BigInteger.valueOf(12345)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"));
+
+        verify(applicationService, never()).getApplicationVersion(any());
+        verify(historyService, never()).getHistoryMarker(any());
+    }
+
+    @Test
+    void when_get_history_with_current_etag_then_returns_not_modified() throws Exception {
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+        String eTag = mockMvc.perform(get("/history/application/{id}", BigInteger.valueOf(12345)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/history/application/{id}", BigInteger.valueOf(12345)).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        applicationService.acceptApplication(BigInteger.valueOf(12345));
+        mockMvc.perform(get("/history/application/{id}", BigInteger.valueOf(12345)).header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void when_get_pages_as_smile_then_returns_binary_page() throws Exception {
+        byte[] body = mockMvc.perform(get("/get").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertThat(page.get("totalElements").asLong()).isEqualTo(4);
+        assertThat(page.get("content").get(0).get("state").asText()).isEqualTo("CREATED");
+
+        mockMvc.perform(get("/get").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"));
+    }
+}
@@ -0,0 +1,144 @@
+package application.management.task.web;
+
+import application.management.task.model.Application;
+import application.management.task.model.EventType;
+import application.management.task.model.State;
+import application.management.task.model.StateChangeEvent;
+import application.management.task.repository.ApplicationRepository;
+import application.management.task.service.ApplicationImportService;
+import application.management.task.service.ApplicationService;
+import application.management.task.service.ArchiveService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationImportService applicationImportService;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private EventFeed eventFeed;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        applicationRepository.deleteAll();
+        applicationService.addApplication(Application.builder().id(BigInteger.valueOf(12345)).name("name").content("content").build());
+    }
+
+    @Test
+    void when_subscribed_with_state_filter_then_receives_only_matching_events() throws Exception {
+        MvcResult result = mockMvc.perform(get("/events").param("state", "ACCEPTED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+        applicationService.acceptApplication(BigInteger.valueOf(12345));
+
+        String body = awaitContent(result.getResponse(), "\"state\":\"ACCEPTED\"");
+        assertThat(body).contains("event:application").contains("\"previousState\":\"VERIFIED\"").doesNotContain("\"state\":\"VERIFIED\"");
+    }
+
+    @Test
+    void when_subscribed_with_unknown_last_event_id_then_replays_buffered_events() throws Exception {
+        applicationService.verifyApplication(BigInteger.valueOf(12345));
+
+        MvcResult result = mockMvc.perform(get("/events").header("Last-Event-ID", "unknown-0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = awaitContent(result.getResponse(), "\"state\":\"VERIFIED\"");
+        assertThat(body).contains("\"applicationId\":12345").contains("\"type\":\"CHANGED\"");
+    }
+
+    @Test
+    void when_events_published_concurrently_then_subscriber_receives_all_in_order() throws Exception {
+        MvcResult result = mockMvc.perform(get("/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ExecutorService publishers = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 200; i++) {
+            publishers.execute(() -> eventFeed.onStateChange(StateChangeEvent.builder().type(EventType.CHANGED).applicationId(BigInteger.ONE).state(State.VERIFIED).build()));
+        }
+        publishers.shutdown();
+        assertThat(publishers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        awaitContent(result.getResponse(), "\"sequence\":");
+        List<Long> sequences = new ArrayList<>();
+        for (int attempt = 0; attempt < 50 && sequences.size() < 200; attempt++) {
+            Thread.sleep(100);
+            sequences.clear();
+            Matcher matcher = Pattern.compile("\"sequence\":(\\d+)").matcher(result.getResponse().getContentAsString());
+            while (matcher.find()) {
+                sequences.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+        assertThat(sequences).hasSize(200).isSorted();
+        assertThat(sequences.get(199) - sequences.get(0)).isEqualTo(199);
+    }
+
+    @Test
+    void when_applications_imported_or_archived_then_events_are_published() throws Exception {
+        MvcResult result = mockMvc.perform(get("/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        applicationImportService.importNdjson(new ByteArrayInputStream("{\"id\":67890,\"name\":\"name\",\"content\":\"content\"}\n".getBytes(StandardCharsets.UTF_8)));
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(BigInteger.valueOf(67890))),
+                Update.update("state", State.PUBLISHED).set("stateChangedAt", LocalDate.now().minusDays(365)), Application.class);
+        archiveService.archivePublished();
+
+        String body = awaitContent(result.getResponse(), "\"type\":\"REMOVED\"");
+        assertThat(body).contains("\"type\":\"CREATED\",\"applicationId\":67890").contains("\"type\":\"REMOVED\",\"applicationId\":67890");
+    }
+
+    private String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        for (int attempt = 0; attempt < 50 && !response.getContentAsString().contains(expected); attempt++) {
+            Thread.sleep(100);
+        }
+        return response.getContentAsString();
+    }
+}
@@ -0,0 +1,112 @@
+package application.management.task.web;
+
+import application.management.task.model.Application;
+import application.management.task.model.History;
+import application.management.task.model.State;
+import application.management.task.repository.ApplicationRepository;
+import application.management.task.service.ApplicationService;
+import application.management.task.service.ArchiveService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest(properties = {"spring.main.web-application-type=reactive", "applications.archive.enabled=true", "applications.archive.delay=600000"})
+@AutoConfigureWebTestClient
+class ReactiveApplicationControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        applicationRepository.deleteAll();
+        applicationService.addApplication(Application.builder().id(BigInteger.valueOf(12345)).state(State.CREATED).name("name").content("content").build());
+        applicationService.addApplication(Application.builder().id(BigInteger.valueOf(67890)).state(State.CREATED).name("name").content("content").build());
+    }
+
+    @Test
+    void when_get_application_then_returns_proper_values() {
+        webTestClient.get().uri("/{id}", BigInteger.valueOf(12345))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(12345)
+                .jsonPath("$.state").isEqualTo("CREATED")
+                .jsonPath("$.name").isEqualTo("name");
+    }
+
+    @Test
+    void when_add_body_contains_version_then_creates_application() {
+        webTestClient.post().uri("/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"n\",\"content\":\"c\",\"version\":3}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.state").isEqualTo("CREATED")
+                .jsonPath("$.version").isEqualTo(0);
+    }
+
+    @Test
+    void when_verify_application_then_has_verified_status() {
+        webTestClient.patch().uri("/verify/{id}", BigInteger.valueOf(12345))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.state").isEqualTo("VERIFIED");
+    }
+
+    @Test
+    void when_accept_application_in_wrong_state_then_returns_not_acceptable() {
+        webTestClient.patch().uri("/accept/{id}", BigInteger.valueOf(12345))
+                .exchange()
+                .expectStatus().isEqualTo(406);
+    }
+
+    @Test
+    void when_get_not_existing_application_then_returns_not_found() {
+        webTestClient.get().uri("/{id}", BigInteger.valueOf(99999))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void when_delete_application_then_it_is_archived() {
+        webTestClient.method(HttpMethod.DELETE).uri("/delete/{id}", BigInteger.valueOf(12345))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(History.builder().resignReason("duplicate").build())
+                .exchange()
+                .expectStatus().isOk();
+
+        assertFalse(applicationRepository.existsById(BigInteger.valueOf(12345)));
+        assertEquals(State.DELETED, archiveService.getArchivedApplication(BigInteger.valueOf(12345)).getState());
+        assertEquals("duplicate", archiveService.getArchivedApplication(BigInteger.valueOf(12345)).getResignReason());
+    }
+
+    @Test
+    void when_stream_all_applications_then_returns_ndjson() {
+        webTestClient.get().uri("/all").accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Application.class).hasSize(2);
+    }
+}